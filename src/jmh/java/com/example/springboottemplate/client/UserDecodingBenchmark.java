@@ -0,0 +1,81 @@
+package com.example.springboottemplate.client;
+
+import com.example.springboottemplate.dto.JsonPlaceholderUserDto;
+import com.example.springboottemplate.dto.JsonPlaceholderUserSummaryDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a JSONPlaceholder /users payload: Jackson data binding versus the streaming
+ * {@link JsonPlaceholderUserDecoder} views
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDecodingBenchmark {
+
+    private static final String USER_TEMPLATE = """
+            {"id":%d,"name":"Leanne Graham","username":"Bret","email":"Sincere@april.biz",
+             "address":{"street":"Kulas Light","suite":"Apt. 556","city":"Gwenborough","zipcode":"92998-3874",
+                        "geo":{"lat":"-37.3159","lng":"81.1496"}},
+             "phone":"1-770-736-8031 x56442","website":"hildegard.org",
+             "company":{"name":"Romaguera-Crona","catchPhrase":"Multi-layered client-server neural-net",
+                        "bs":"harness real-time e-markets"}}""";
+    private static final int USERS = 10;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= USERS; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append(String.format(USER_TEMPLATE, id));
+        }
+        payload = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<JsonPlaceholderUserDto> databind() throws IOException {
+        return objectMapper.readValue(payload, new TypeReference<List<JsonPlaceholderUserDto>>() {});
+    }
+
+    @Benchmark
+    public List<JsonPlaceholderUserDto> streamingFull() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            parser.nextToken();
+            return JsonPlaceholderUserDecoder.View.FULL.readList(parser);
+        }
+    }
+
+    @Benchmark
+    public List<JsonPlaceholderUserSummaryDto> streamingSummary() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            parser.nextToken();
+            return JsonPlaceholderUserDecoder.View.SUMMARY.readList(parser);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.springboottemplate.compression;
+
+import com.example.springboottemplate.dto.TaskDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzipping a serialized {@code Page<TaskDto>}: pooled Deflaters versus a {@code GZIPOutputStream} per
+ * response, and a hit in the compressed body cache. The bandwidth side, the compressed size per level, is printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GzipCompressorBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private byte[] body;
+    private GzipCompressor compressor;
+    private CompressedBodyCache cache;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskDto> tasks = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            tasks.add(TaskDto.builder()
+                    .id(id)
+                    .title("Task " + id)
+                    .description("Description of task " + id)
+                    .completed(id % 2 == 0)
+                    .dueAt(now.plusDays(id))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .version(id % 3)
+                    .build());
+        }
+        body = objectMapper.writeValueAsBytes(new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000));
+
+        compressor = new GzipCompressor(level, 4);
+        byte[] compressed = compressor.compress(body);
+        cache = new CompressedBodyCache(Long.MAX_VALUE, Integer.MAX_VALUE);
+        cache.put(body.clone(), compressed);
+        System.out.printf("%nLevel %d, %d tasks: %d -> %d bytes (%.1f%%)%n",
+                level, pageSize, body.length, compressed.length, 100.0 * compressed.length / body.length);
+    }
+
+    @Benchmark
+    public byte[] pooledDeflater() {
+        return compressor.compress(body);
+    }
+
+    /**
+     * What the filter would cost allocating a Deflater per response
+     */
+    @Benchmark
+    public byte[] gzipOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Hash and compare instead of deflate, for bodies that go out unchanged
+     */
+    @Benchmark
+    public byte[] cacheHit() {
+        return cache.get(body);
+    }
+}
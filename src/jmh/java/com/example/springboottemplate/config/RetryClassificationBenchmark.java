@@ -0,0 +1,84 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.exception.ServerErrorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exception classification in {@link WebClientConfig#shouldRetry} and {@link WebClientConfig#isConnectionReset},
+ * which walk cause chains with {@code String.contains}. The worst case is an error that is not retryable,
+ * since every check runs before it is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryClassificationBenchmark {
+
+    private WebClientConfig config;
+    private Throwable serverError;
+    private Throwable connectionReset;
+    private Throwable connectionRefused;
+    private Throwable notFound;
+
+    @Setup
+    public void setUp() {
+        config = new WebClientConfig();
+        URI uri = URI.create("https://jsonplaceholder.typicode.com/posts/1");
+        serverError = new ServerErrorException(503, "Server error: 503");
+        // Deepest supported shape: the reset is three causes down
+        connectionReset = new WebClientRequestException(
+                new IOException("I/O error", new IOException("channel closed",
+                        new SocketException("recvAddress(..) failed: Connection reset by peer"))),
+                HttpMethod.GET, uri, new HttpHeaders());
+        connectionRefused = new WebClientRequestException(
+                new ConnectException("Connection refused: jsonplaceholder.typicode.com/104.21.0.1:443"),
+                HttpMethod.GET, uri, new HttpHeaders());
+        notFound = WebClientResponseException.create(404, "Not Found", new HttpHeaders(), new byte[0], null);
+    }
+
+    @Benchmark
+    public boolean shouldRetryServerError() {
+        return config.shouldRetry(serverError);
+    }
+
+    @Benchmark
+    public boolean shouldRetryConnectionReset() {
+        return config.shouldRetry(connectionReset);
+    }
+
+    @Benchmark
+    public boolean shouldRetryConnectionRefused() {
+        return config.shouldRetry(connectionRefused);
+    }
+
+    @Benchmark
+    public boolean shouldRetryNotRetryable() {
+        return config.shouldRetry(notFound);
+    }
+
+    @Benchmark
+    public boolean isConnectionReset() {
+        return config.isConnectionReset(connectionReset);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.springboottemplate.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the API's response types, configured like Spring Boot's ObjectMapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private TaskDto task;
+    private Page<TaskDto> page;
+    private Page<SparseTaskDto> sparsePage;
+    private JsonPlaceholderUserDto user;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writer();
+
+        LocalDateTime now = LocalDateTime.now();
+        task = task(1L, now);
+        List<TaskDto> tasks = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            tasks.add(task(id, now));
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 1000);
+        List<TaskField> listFields = TaskField.parse("title,completed");
+        sparsePage = page.map(dto -> SparseTaskDto.of(dto, listFields));
+
+        user = JsonPlaceholderUserDto.builder()
+                .id(1L)
+                .name("Leanne Graham")
+                .username("Bret")
+                .email("Sincere@april.biz")
+                .address(new JsonPlaceholderUserDto.Address("Kulas Light", "Apt. 556", "Gwenborough", "92998-3874",
+                        new JsonPlaceholderUserDto.Address.Geo(-37.3159, 81.1496)))
+                .phone("1-770-736-8031 x56442")
+                .website("hildegard.org")
+                .company(new JsonPlaceholderUserDto.Company("Romaguera-Crona",
+                        "Multi-layered client-server neural-net", "harness real-time e-markets"))
+                .build();
+    }
+
+    private static TaskDto task(long id, LocalDateTime now) {
+        return TaskDto.builder()
+                .id(id)
+                .title("Task " + id)
+                .description("Description of task " + id)
+                .completed(id % 2 == 0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] taskDto() throws JsonProcessingException {
+        return writer.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] taskPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    /**
+     * The same page restricted to a list view's fields ({@code fields=title,completed})
+     */
+    @Benchmark
+    public byte[] sparseTaskPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(sparsePage);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return writer.writeValueAsBytes(user);
+    }
+}
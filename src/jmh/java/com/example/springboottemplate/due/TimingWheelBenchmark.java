@@ -0,0 +1,90 @@
+package com.example.springboottemplate.due;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link TimingWheel} with the task due defaults (100 ms ticks, 256 slots, 5 levels) and {@code timers} pending timers
+ * due within a day: schedule plus cancel, which should not depend on {@code timers}; one tick of the clock in steady
+ * state, where every fired timer is rescheduled; and {@code fill}, whose {@code gc.alloc.rate.norm} is the memory per
+ * timer. The clock is simulated, so no benchmark sleeps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 256;
+    private static final int LEVELS = 5;
+    private static final long HORIZON_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int FILL_TIMERS = 10_000;
+    private static final int OFFSETS = 1 << 16;
+
+    @Param({"10000", "1000000"})
+    private int timers;
+
+    private TimingWheel<Object> wheel;
+    private long[] offsets;
+    private int next;
+    private long now;
+    private Object payload;
+    private Consumer<Object> reschedule;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        offsets = new long[OFFSETS];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = 1 + random.nextLong(HORIZON_MILLIS);
+        }
+        payload = new Object();
+        wheel = new TimingWheel<>(now, TICK_MILLIS, WHEEL_SIZE, LEVELS);
+        for (int i = 0; i < timers; i++) {
+            wheel.schedule(now + nextOffset(), payload);
+        }
+        reschedule = fired -> wheel.schedule(now + nextOffset(), fired);
+    }
+
+    @Benchmark
+    public boolean scheduleCancel() {
+        return wheel.cancel(wheel.schedule(now + nextOffset(), payload));
+    }
+
+    @Benchmark
+    public int advanceTick() {
+        now += TICK_MILLIS;
+        return wheel.advance(now, reschedule);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILL_TIMERS)
+    public TimingWheel<Object> fill() {
+        TimingWheel<Object> filled = new TimingWheel<>(now, TICK_MILLIS, WHEEL_SIZE, LEVELS);
+        for (int i = 0; i < FILL_TIMERS; i++) {
+            filled.schedule(now + nextOffset(), payload);
+        }
+        return filled;
+    }
+
+    private long nextOffset() {
+        return offsets[next++ & (OFFSETS - 1)];
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.springboottemplate.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication cost per request: Basic auth through the delegating BCrypt encoder,
+ * Basic auth with the verified-credentials cache, and bearer token verification
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "user";
+    private static final String PASSWORD = "password";
+
+    private DaoAuthenticationProvider basicProvider;
+    private CachingAuthenticationProvider cachingProvider;
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername(USERNAME)
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("USER")
+                .build());
+        basicProvider = new DaoAuthenticationProvider();
+        basicProvider.setPasswordEncoder(passwordEncoder);
+        basicProvider.setUserDetailsService(users);
+        cachingProvider = new CachingAuthenticationProvider(basicProvider, 300, 1000, new SimpleMeterRegistry());
+
+        tokenService = new TokenService("benchmark-secret-benchmark-secret", 3600);
+        token = tokenService.issue(basicProvider.authenticate(credentials()));
+    }
+
+    private static Authentication credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public Authentication basicBcrypt() {
+        return basicProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication basicCached() {
+        return cachingProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Authentication bearerToken() {
+        return tokenService.verify(token);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in {@link TaskServiceImpl#mapToDto}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private TaskServiceImpl service;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        // mapToDto does not touch the repository
+        service = new TaskServiceImpl(null, null, null, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        task = Task.builder()
+                .id(42L)
+                .title("Write the quarterly report")
+                .description("Collect numbers from finance and draft the summary section")
+                .completed(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public TaskDto mapToDto() {
+        return service.mapToDto(task);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.springboottemplate.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LongObjectMap} versus {@code HashMap<Long, Object>} lookups of random existing keys. IDs above the
+ * {@code Long} cache are boxed on every {@code HashMap} lookup, and each entry is a node plus a boxed key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongObjectMapBenchmark {
+
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private LongObjectMap<Object> longObjectMap;
+    private Map<Long, Object> hashMap;
+    private long[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Object value = new Object();
+        longObjectMap = new LongObjectMap<>(size);
+        hashMap = new HashMap<>();
+        for (long id = 1; id <= size; id++) {
+            longObjectMap.put(id, value);
+            hashMap.put(id, value);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Object longObjectMapGet() {
+        return longObjectMap.get(keys[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public Object hashMapGet() {
+        return hashMap.get(keys[next++ & (LOOKUPS - 1)]);
+    }
+}
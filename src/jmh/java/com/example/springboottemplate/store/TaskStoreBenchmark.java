@@ -0,0 +1,92 @@
+package com.example.springboottemplate.store;
+
+import com.example.springboottemplate.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link JournaledTaskStore} with 10k tasks in a temporary directory: point reads, and updates with and without
+ * fsync from one and from eight threads, where group commit shares each fsync between concurrent writers.
+ * The store is filled without fsync and reopened, so setup also exercises recovery.
+ * For the end-to-end comparison with the JPA path, run the load test with the memstore profile (see the README).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStoreBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    @Param({"false", "true"})
+    private boolean fsync;
+
+    private Path directory;
+    private JournaledTaskStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("task-store-benchmark");
+        try (JournaledTaskStore filling = new JournaledTaskStore(directory, 64, false, 0)) {
+            for (int i = 0; i < TASKS; i++) {
+                filling.insert(Task.builder()
+                        .title("Task " + i)
+                        .description("Benchmark task number " + i)
+                        .completed(i % 2 == 0)
+                        .build());
+            }
+        }
+        store = new JournaledTaskStore(directory, 64, fsync, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Task get() {
+        return store.get(randomId());
+    }
+
+    @Benchmark
+    public Task update() {
+        return store.update(randomId(), task -> task.toBuilder().completed(!task.getCompleted()).build());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Task updateConcurrent() {
+        return update();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, TASKS + 1);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.springboottemplate.loadtest;
+
+import com.example.springboottemplate.client.JsonPlaceholderApiClient;
+import com.example.springboottemplate.dto.JsonPlaceholderCommentDto;
+import com.example.springboottemplate.dto.JsonPlaceholderPostDto;
+import com.example.springboottemplate.dto.JsonPlaceholderUserDto;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post aggregation against sequential composition, over a local stub with injected latency.
+ * Boots the application against {@link UpstreamStub} and calls its {@link JsonPlaceholderApiClient} in process,
+ * one batch of {@code posts} consecutive post IDs at a time:
+ * <ul>
+ *     <li>{@code sequential}: what a caller does without the aggregation, per post {@code getPostById}, then
+ *     {@code getCommentsByPostId}, then {@code getUserById} of its author, each awaited before the next</li>
+ *     <li>{@code aggregated}: one {@code getPostDetails} call, bounded by
+ *     {@code api.jsonplaceholder.aggregation.concurrency}, with author lookups deduplicated</li>
+ * </ul>
+ * Batch latencies are written as a baseline in the load test format, so runs compare with {@code loadtest.baseline}.
+ * <p>
+ * Settings are system properties ({@code loadtest.aggregation.*}, {@code loadtest.upstream.*}), see the README.
+ */
+public final class AggregationBenchmark {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private AggregationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int posts = Integer.getInteger("loadtest.aggregation.posts", 10);
+        int iterations = Integer.getInteger("loadtest.aggregation.iterations", 200);
+        int warmup = Integer.getInteger("loadtest.aggregation.warmup", 20);
+        long upstreamLatency = Long.getLong("loadtest.upstream.latency", 50L);
+        long upstreamJitter = Long.getLong("loadtest.upstream.jitter", 50L);
+        double upstreamErrorRate = Double.parseDouble(System.getProperty("loadtest.upstream.errorRate", "0"));
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest/aggregation.json"));
+        String appArgs = System.getProperty("loadtest.appArgs", "");
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("posts", posts);
+        settings.put("iterations", iterations);
+        settings.put("upstreamLatencyMs", upstreamLatency);
+        settings.put("upstreamJitterMs", upstreamJitter);
+        settings.put("upstreamErrorRate", upstreamErrorRate);
+        settings.put("appArgs", appArgs);
+
+        try (UpstreamStub upstream = new UpstreamStub(upstreamLatency, upstreamJitter, upstreamErrorRate);
+             ConfigurableApplicationContext context = LoadTestRunner.boot(upstream.baseUrl(), appArgs)) {
+            JsonPlaceholderApiClient client = context.getBean(JsonPlaceholderApiClient.class);
+
+            System.out.printf("Warming up with %d batches of %d posts%n", warmup, posts);
+            run(client, posts, warmup, true);
+            run(client, posts, warmup, false);
+
+            System.out.printf("Measuring %d batches of %d posts%n", iterations, posts);
+            Map<String, LoadTestReport.ScenarioSummary> scenarios = new LinkedHashMap<>();
+            scenarios.put("sequential", run(client, posts, iterations, true));
+            scenarios.put("aggregated", run(client, posts, iterations, false));
+
+            LoadTestReport.Baseline baseline = new LoadTestReport.Baseline(settings, scenarios);
+            System.out.print(LoadTestReport.format(baseline));
+            System.out.printf("Aggregation speedup: %.1fx at p50, %.1fx at p99%n",
+                    scenarios.get("sequential").p50() / scenarios.get("aggregated").p50(),
+                    scenarios.get("sequential").p99() / scenarios.get("aggregated").p99());
+            LoadTestReport.write(baseline, output);
+            System.out.println("Baseline written to " + output.toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Run batches one after another; each batch is one "request" of the summary
+     */
+    private static LoadTestReport.ScenarioSummary run(JsonPlaceholderApiClient client, int posts, int batches,
+                                                      boolean sequential) {
+        Histogram latencyMicros = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long errors = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < batches; i++) {
+            List<Long> ids = batch(posts);
+            long batchStart = System.nanoTime();
+            try {
+                if (sequential) {
+                    sequentialDetails(client, ids);
+                } else {
+                    client.getPostDetails(ids).block();
+                }
+                latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - batchStart)));
+            } catch (RuntimeException e) {
+                errors++;
+            }
+        }
+        return LoadTestReport.summarize(latencyMicros, errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Caller-side sequential composition: no concurrency and no author deduplication
+     */
+    private static void sequentialDetails(JsonPlaceholderApiClient client, List<Long> ids) {
+        for (Long id : ids) {
+            JsonPlaceholderPostDto post = client.getPostById(id).block();
+            List<JsonPlaceholderCommentDto> comments = client.getCommentsByPostId(id).block();
+            JsonPlaceholderUserDto author = client.getUserById(post.getUserId()).block();
+            if (comments == null || author == null) {
+                throw new IllegalStateException("Incomplete details for post " + id);
+            }
+        }
+    }
+
+    private static List<Long> batch(int posts) {
+        long first = ThreadLocalRandom.current().nextLong(100 - posts + 1) + 1;
+        List<Long> ids = new ArrayList<>(posts);
+        for (long id = first; id < first + posts; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
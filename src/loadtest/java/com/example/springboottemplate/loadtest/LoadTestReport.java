@@ -0,0 +1,109 @@
+package com.example.springboottemplate.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test results as a JSON baseline file, and comparison against a previous baseline
+ */
+public final class LoadTestReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Results of one scenario, latencies in milliseconds
+     */
+    public record ScenarioSummary(long requests, long errors, double errorRate, double throughput,
+                                  double p50, double p90, double p99, double p999, double max) {
+    }
+
+    /**
+     * A whole run: the settings it ran with and a summary per scenario
+     */
+    public record Baseline(Map<String, Object> settings, Map<String, ScenarioSummary> scenarios) {
+    }
+
+    private LoadTestReport() {
+    }
+
+    public static Baseline summarize(Map<String, Object> settings, Map<String, OpenModelDriver.ScenarioResult> results,
+                                     Duration duration) {
+        Map<String, ScenarioSummary> scenarios = new LinkedHashMap<>();
+        results.forEach((name, result) -> scenarios.put(name, summarize(result.latencyMicros(), result.errors(), duration)));
+        return new Baseline(settings, scenarios);
+    }
+
+    /**
+     * Summarize one scenario from its latencies in microseconds
+     */
+    static ScenarioSummary summarize(Histogram histogram, long errors, Duration duration) {
+        long requests = histogram.getTotalCount();
+        return new ScenarioSummary(
+                requests,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                requests / (duration.toMillis() / 1000.0),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    public static void write(Baseline baseline, Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writeValue(path.toFile(), baseline);
+    }
+
+    public static Baseline read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), Baseline.class);
+    }
+
+    public static String format(Baseline baseline) {
+        StringBuilder table = new StringBuilder(String.format("%-24s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        baseline.scenarios().forEach((name, s) -> table.append(String.format(
+                "%-24s %9d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.requests(), s.errorRate() * 100, s.throughput(), s.p50(), s.p90(), s.p99(), s.p999(), s.max())));
+        return table.toString();
+    }
+
+    /**
+     * Compare p99 latency and error rate against a previous baseline
+     *
+     * @param tolerance Allowed relative p99 increase, e.g. 0.2 for 20%
+     * @return Regressions found; empty when the run is within tolerance
+     */
+    public static List<String> regressions(Baseline previous, Baseline current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.scenarios().forEach((name, now) -> {
+            ScenarioSummary before = previous.scenarios().get(name);
+            if (before == null) {
+                return;
+            }
+            if (now.p99() > before.p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.2f ms -> %.2f ms (+%.0f%%)", name, before.p99(), now.p99(),
+                        (now.p99() / before.p99() - 1) * 100));
+            }
+            if (now.errorRate() > before.errorRate() + 0.01) {
+                regressions.add(String.format("%s: error rate %.2f%% -> %.2f%%", name,
+                        before.errorRate() * 100, now.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.springboottemplate.loadtest;
+
+import com.example.springboottemplate.SpringBootTemplateApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Offline end-to-end load test.
+ * Starts a local JSONPlaceholder stub, boots the application against it on a random port, seeds tasks,
+ * runs an unmeasured warmup followed by a measured open-model run of the configured request mix,
+ * and writes the results as a JSON baseline. When a previous baseline is given, p99 and error rate
+ * regressions beyond the tolerance fail the run.
+ * <p>
+ * Settings are system properties ({@code loadtest.*}), see the README.
+ */
+public final class LoadTestRunner {
+
+    private static final int SEED_TASKS = 200;
+    private static final String JSON = "application/json";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = Integer.getInteger("loadtest.rate", 100);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60L));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L));
+        Duration timeout = Duration.ofSeconds(Long.getLong("loadtest.timeout", 10L));
+        long upstreamLatency = Long.getLong("loadtest.upstream.latency", 50L);
+        long upstreamJitter = Long.getLong("loadtest.upstream.jitter", 50L);
+        double upstreamErrorRate = Double.parseDouble(System.getProperty("loadtest.upstream.errorRate", "0"));
+        String mix = System.getProperty("loadtest.mix",
+                "getTask:50,listTasks:10,createTask:15,updateTask:5,postDetail:10,postDetails:10");
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest/baseline.json"));
+        String previousBaseline = System.getProperty("loadtest.baseline", "");
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+        String appArgs = System.getProperty("loadtest.appArgs", "");
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", rate);
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("upstreamLatencyMs", upstreamLatency);
+        settings.put("upstreamJitterMs", upstreamJitter);
+        settings.put("upstreamErrorRate", upstreamErrorRate);
+        settings.put("mix", mix);
+        settings.put("appArgs", appArgs);
+
+        try (UpstreamStub upstream = new UpstreamStub(upstreamLatency, upstreamJitter, upstreamErrorRate);
+             ConfigurableApplicationContext context = boot(upstream.baseUrl(), appArgs)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://127.0.0.1:" + port;
+            OpenModelDriver driver = new OpenModelDriver(baseUrl, scenarios(mix));
+            seed(driver, baseUrl);
+
+            System.out.printf("Warming up for %ds at %d req/s%n", warmup.toSeconds(), rate);
+            driver.run(rate, warmup, timeout);
+            System.out.printf("Measuring for %ds at %d req/s%n", duration.toSeconds(), rate);
+            Map<String, OpenModelDriver.ScenarioResult> results = driver.run(rate, duration, timeout);
+
+            LoadTestReport.Baseline baseline = LoadTestReport.summarize(settings, results, duration);
+            System.out.print(LoadTestReport.format(baseline));
+            LoadTestReport.write(baseline, output);
+            System.out.println("Baseline written to " + output.toAbsolutePath());
+
+            if (!previousBaseline.isBlank() && Files.exists(Path.of(previousBaseline))) {
+                List<String> regressions = LoadTestReport.regressions(
+                        LoadTestReport.read(Path.of(previousBaseline)), baseline, tolerance);
+                if (!regressions.isEmpty()) {
+                    System.out.println("Regressions against " + previousBaseline + ":");
+                    regressions.forEach(regression -> System.out.println("  " + regression));
+                    System.exit(1);
+                }
+                System.out.println("No regressions against " + previousBaseline);
+            }
+        }
+        System.exit(0);
+    }
+
+    static ConfigurableApplicationContext boot(String upstreamUrl, String appArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--api.jsonplaceholder.base-url=" + upstreamUrl,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.example=INFO",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        if (!appArgs.isBlank()) {
+            args.addAll(Arrays.asList(appArgs.trim().split("\\s+")));
+        }
+        return SpringApplication.run(SpringBootTemplateApplication.class, args.toArray(String[]::new));
+    }
+
+    private static void seed(OpenModelDriver driver, String baseUrl) throws Exception {
+        for (int i = 1; i <= SEED_TASKS; i++) {
+            driver.send(createTask(baseUrl));
+        }
+    }
+
+    /**
+     * Parse {@code name:weight,...} into scenarios
+     */
+    private static List<OpenModelDriver.Scenario> scenarios(String mix) {
+        Map<String, Function<String, HttpRequest>> available = new LinkedHashMap<>();
+        available.put("getTask", baseUrl -> get(baseUrl, "/tasks/" + randomTaskId()));
+        available.put("listTasks", baseUrl -> get(baseUrl, "/tasks?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20"));
+        available.put("createTask", LoadTestRunner::createTask);
+        available.put("updateTask", baseUrl -> HttpRequest.newBuilder(OpenModelDriver.uri(baseUrl, "/tasks/" + randomTaskId()))
+                .header("Content-Type", JSON)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"completed\":true}"))
+                .build());
+        available.put("postDetail", baseUrl -> get(baseUrl, "/posts/" + (ThreadLocalRandom.current().nextInt(100) + 1) + "/details"));
+        available.put("postDetails", baseUrl -> {
+            int first = ThreadLocalRandom.current().nextInt(90) + 1;
+            StringBuilder ids = new StringBuilder();
+            for (int id = first; id < first + 10; id++) {
+                ids.append(ids.isEmpty() ? "" : ",").append(id);
+            }
+            return get(baseUrl, "/posts/details?ids=" + ids);
+        });
+
+        List<OpenModelDriver.Scenario> scenarios = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Function<String, HttpRequest> request = available.get(parts[0]);
+            if (request == null || parts.length != 2) {
+                throw new IllegalArgumentException("Unknown scenario '" + entry + "', available: " + available.keySet());
+            }
+            scenarios.add(new OpenModelDriver.Scenario(parts[0], Integer.parseInt(parts[1]), request));
+        }
+        return scenarios;
+    }
+
+    private static HttpRequest createTask(String baseUrl) {
+        return HttpRequest.newBuilder(OpenModelDriver.uri(baseUrl, "/tasks"))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Load test task\",\"description\":\"Created by the load test\"}"))
+                .build();
+    }
+
+    private static HttpRequest get(String baseUrl, String path) {
+        return HttpRequest.newBuilder(OpenModelDriver.uri(baseUrl, path)).GET().build();
+    }
+
+    private static long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(SEED_TASKS) + 1;
+    }
+}
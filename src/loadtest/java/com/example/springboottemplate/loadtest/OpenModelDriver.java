@@ -0,0 +1,132 @@
+package com.example.springboottemplate.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load generator: requests are issued at a constant arrival rate regardless of how fast
+ * the server answers, and latency is measured from each request's intended start time, so a stalled
+ * server shows up in the percentiles instead of silently lowering the offered load (coordinated omission).
+ */
+public class OpenModelDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * One kind of request in the workload mix
+     *
+     * @param name Scenario name used in the report
+     * @param weight Relative share of the arrival rate
+     * @param request Builds a request against the base URL
+     */
+    public record Scenario(String name, int weight, Function<String, HttpRequest> request) {
+    }
+
+    /**
+     * Results of one scenario
+     */
+    public static final class ScenarioResult {
+        private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        public Histogram latencyMicros() {
+            return latencyMicros;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+
+    public OpenModelDriver(String baseUrl, List<Scenario> scenarios) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+    }
+
+    /**
+     * Offer load at {@code ratePerSecond} for {@code duration} and wait for outstanding responses
+     *
+     * @return Results per scenario, in scenario order
+     */
+    public Map<String, ScenarioResult> run(int ratePerSecond, Duration duration, Duration requestTimeout) {
+        Map<String, ScenarioResult> results = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> results.put(scenario.name(), new ScenarioResult()));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = pick();
+            ScenarioResult result = results.get(scenario.name());
+            long intendedStart = intended;
+            HttpRequest request = scenario.request().apply(baseUrl);
+            inFlight.add(client.sendAsync(HttpRequest.newBuilder(request, (name, value) -> true)
+                                    .timeout(requestTimeout)
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                        result.latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                        if (error != null || response.statusCode() >= 400) {
+                            result.errors.increment();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(error -> null)
+                .join();
+        return results;
+    }
+
+    /**
+     * Send one request synchronously, used to seed data before the measured run
+     */
+    public int send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public static URI uri(String baseUrl, String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private Scenario pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight();
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
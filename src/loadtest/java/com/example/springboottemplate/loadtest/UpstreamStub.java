@@ -0,0 +1,169 @@
+package com.example.springboottemplate.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the JSONPlaceholder API with injected latency and errors.
+ * Serves the resources the client uses (posts, comments, users, todos) from generated data;
+ * every response is delayed by {@code latency} plus up to {@code jitter} ms, and a fraction
+ * {@code errorRate} of responses are 503s.
+ */
+public class UpstreamStub implements AutoCloseable {
+
+    private static final int POSTS = 100;
+    private static final int USERS = 10;
+    private static final int COMMENTS_PER_POST = 5;
+    private static final int TODOS_PER_USER = 20;
+
+    private static final Pattern POST = Pattern.compile("/posts/(\\d+)");
+    private static final Pattern POST_COMMENTS = Pattern.compile("/posts/(\\d+)/comments");
+    private static final Pattern USER = Pattern.compile("/users/(\\d+)");
+    private static final Pattern USER_TODOS = Pattern.compile("/users/(\\d+)/todos");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+
+    public UpstreamStub(long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        // Injected latency sleeps, so every in-flight request needs its own thread
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "upstream-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+            if (delay > 0) {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, "{}");
+                return;
+            }
+            String body = route(exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+            if (body == null) {
+                respond(exchange, 404, "{}");
+            } else {
+                respond(exchange, "POST".equals(exchange.getRequestMethod()) ? 201 : 200, body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String route(String method, String path) {
+        Matcher matcher;
+        if ("POST".equals(method) && "/posts".equals(path)) {
+            return post(POSTS + 1);
+        }
+        if (!"GET".equals(method)) {
+            return (matcher = POST.matcher(path)).matches() ? post(Long.parseLong(matcher.group(1))) : null;
+        }
+        if ("/posts".equals(path)) {
+            return array(POSTS, this::post);
+        }
+        if ("/users".equals(path)) {
+            return array(USERS, this::user);
+        }
+        if ("/todos".equals(path)) {
+            return array(USERS * TODOS_PER_USER, this::todo);
+        }
+        if ((matcher = POST_COMMENTS.matcher(path)).matches()) {
+            long postId = Long.parseLong(matcher.group(1));
+            return array(COMMENTS_PER_POST, i -> comment(postId, (postId - 1) * COMMENTS_PER_POST + i));
+        }
+        if ((matcher = USER_TODOS.matcher(path)).matches()) {
+            long userId = Long.parseLong(matcher.group(1));
+            return array(TODOS_PER_USER, i -> todo((userId - 1) * TODOS_PER_USER + i));
+        }
+        if ((matcher = POST.matcher(path)).matches()) {
+            long id = Long.parseLong(matcher.group(1));
+            return id >= 1 && id <= POSTS ? post(id) : null;
+        }
+        if ((matcher = USER.matcher(path)).matches()) {
+            long id = Long.parseLong(matcher.group(1));
+            return id >= 1 && id <= USERS ? user(id) : null;
+        }
+        return null;
+    }
+
+    private String post(long id) {
+        return String.format("{\"userId\":%d,\"id\":%d,\"title\":\"post %d\",\"body\":\"body of post %d\"}",
+                (id - 1) % USERS + 1, id, id, id);
+    }
+
+    private String comment(long postId, long id) {
+        return String.format("{\"postId\":%d,\"id\":%d,\"name\":\"comment %d\",\"email\":\"c%d@example.com\",\"body\":\"text\"}",
+                postId, id, id, id);
+    }
+
+    private String user(long id) {
+        return String.format("{\"id\":%d,\"name\":\"User %d\",\"username\":\"user%d\",\"email\":\"user%d@example.com\","
+                + "\"address\":{\"street\":\"Main St\",\"suite\":\"Apt. %d\",\"city\":\"Springfield\",\"zipcode\":\"12345\","
+                + "\"geo\":{\"lat\":\"-37.3159\",\"lng\":\"81.1496\"}},\"phone\":\"555-0100\",\"website\":\"example.com\","
+                + "\"company\":{\"name\":\"Company %d\",\"catchPhrase\":\"phrase\",\"bs\":\"bs\"}}", id, id, id, id, id, id);
+    }
+
+    private String todo(long id) {
+        return String.format("{\"userId\":%d,\"id\":%d,\"title\":\"todo %d\",\"completed\":%b}",
+                (id - 1) / TODOS_PER_USER + 1, id, id, id % 3 == 0);
+    }
+
+    private static String array(int size, LongFunction<String> element) {
+        StringBuilder json = new StringBuilder("[");
+        for (long i = 1; i <= size; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append(element.apply(i));
+        }
+        return json.append(']').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
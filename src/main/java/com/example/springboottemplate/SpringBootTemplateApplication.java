@@ -2,11 +2,22 @@ package com.example.springboottemplate;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class SpringBootTemplateApplication {
 
+    /**
+     * Startup steps buffered for the actuator startup endpoint; {@code -Dstartup.timeline.capacity=0} disables recording
+     */
+    private static final int DEFAULT_TIMELINE_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(SpringBootTemplateApplication.class, args);
+        SpringApplication application = new SpringApplication(SpringBootTemplateApplication.class);
+        int timelineCapacity = Integer.getInteger("startup.timeline.capacity", DEFAULT_TIMELINE_CAPACITY);
+        if (timelineCapacity > 0) {
+            application.setApplicationStartup(new BufferingApplicationStartup(timelineCapacity));
+        }
+        application.run(args);
     }
 }
@@ -0,0 +1,138 @@
+package com.example.springboottemplate.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit driven by observed latency.
+ * The limit grows by roughly one per limit's worth of fast responses while it is being used, and is cut
+ * multiplicatively when smoothed latency rises above {@code tolerance} x the baseline (minimum) latency
+ * or a request fails. The baseline is re-probed every window of samples from the window's minimum RTT: it drops to
+ * any faster minimum right away but rises by at most {@code 25%} per window, so it can follow a slower steady state
+ * without climbing to the congested latency under sustained overload.
+ * Admission is a lock-free CAS on the inflight count; writes may only use {@code writeShare} of the limit
+ * so reads keep headroom under overload. Samples are lock-free as well: the smoothed RTT and the limit are doubles
+ * updated by CAS on their bits, and each window's baseline probe and each cut is done by the one thread that wins it,
+ * so releases under overload never queue on a monitor.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.1;
+    private static final int BASELINE_PROBE_SAMPLES = 1000;
+    private static final double MAX_BASELINE_GROWTH = 1.25;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final double writeShare;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * Bits of the limit, a double
+     */
+    private final AtomicLong limit;
+    /**
+     * Bits of the smoothed RTT in nanoseconds, a double; 0 before the first sample
+     */
+    private final AtomicLong smoothedRttNanos = new AtomicLong();
+    private final AtomicLong baselineRttNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowMinRttNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+    private final AtomicInteger samples = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double backoffRatio, double tolerance, double writeShare) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.writeShare = writeShare;
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    /**
+     * Try to admit a request
+     *
+     * @param write Whether the request is a write, which may only use part of the limit
+     * @return true if admitted; the caller must then call {@link #release}
+     */
+    public boolean tryAcquire(boolean write) {
+        double current = limit();
+        int allowed = (int) (write ? Math.max(1, current * writeShare) : current);
+        while (true) {
+            int inflightNow = inflight.get();
+            if (inflightNow >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(inflightNow, inflightNow + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and feed its outcome into the limit
+     *
+     * @param rttNanos Time the request took
+     * @param failed Whether the request failed in a way that indicates overload
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        onSample(rttNanos, failed, inflightAtCompletion);
+    }
+
+    public int getLimit() {
+        return (int) limit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void onSample(long rttNanos, boolean failed, int inflightAtCompletion) {
+        double smoothed = updateDouble(smoothedRttNanos,
+                previous -> previous == 0 ? rttNanos : previous + SMOOTHING * (rttNanos - previous));
+        windowMinRttNanos.accumulateAndGet(rttNanos, Math::min);
+        long baseline = baselineRttNanos.accumulateAndGet(rttNanos, Math::min);
+        if (samples.incrementAndGet() % BASELINE_PROBE_SAMPLES == 0) {
+            // Only the thread completing the window probes; samples racing with the reset count towards the next one
+            long windowMin = windowMinRttNanos.getAndSet(Long.MAX_VALUE);
+            baseline = baselineRttNanos.updateAndGet(current -> (long) Math.min(windowMin, current * MAX_BASELINE_GROWTH));
+        }
+
+        boolean congested = failed || smoothed > baseline * tolerance;
+        if (congested) {
+            // Cut at most once per smoothed RTT, otherwise one slow burst collapses the limit;
+            // of the threads that see congestion at once, the one that moves the timestamp cuts
+            long now = System.nanoTime();
+            long lastDecrease = lastDecreaseNanos.get();
+            if (now - lastDecrease > smoothed && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                updateDouble(limit, current -> Math.max(minLimit, current * backoffRatio));
+            }
+        } else if (inflightAtCompletion * 2 >= limit()) {
+            // Only grow while the limit is actually being used
+            updateDouble(limit, current -> Math.min(maxLimit, current + 1.0 / current));
+        }
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    /**
+     * CAS loop over a double stored as its bits
+     *
+     * @return The new value
+     */
+    private static double updateDouble(AtomicLong bits, DoubleUnaryOperator update) {
+        while (true) {
+            long current = bits.get();
+            double next = update.applyAsDouble(Double.longBitsToDouble(current));
+            if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.springboottemplate.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Admission control in front of the tasks API.
+ * Requests over a client's rate are rejected with 429 and requests over the adaptive concurrency limit
+ * with 503, both with a small precomputed body and without touching the database or the rest of the stack.
+ * GET/HEAD requests and the {@code POST /tasks/lookup} multi-get are reads; everything else is a write and may only
+ * use part of the limit. Clients are keyed by remote address; a client ID header is only honored from trusted
+ * addresses such as a gateway, since any other caller could rotate it to escape its rate.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final byte[] OVERLOADED_BODY =
+            "{\"status\":503,\"message\":\"Server is overloaded, retry later\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"status\":429,\"message\":\"Too many requests, retry later\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ClientRateLimiter clientRateLimiter;
+    private final String clientHeader;
+    private final Set<String> trustedAddresses;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+    private final Counter rateLimited;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimit limit, ClientRateLimiter clientRateLimiter,
+                                  String clientHeader, Set<String> trustedAddresses, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.clientRateLimiter = clientRateLimiter;
+        this.clientHeader = clientHeader;
+        this.trustedAddresses = trustedAddresses;
+        this.rejectedReads = meterRegistry.counter("admission.rejected", "reason", "limit", "priority", "read");
+        this.rejectedWrites = meterRegistry.counter("admission.rejected", "reason", "limit", "priority", "write");
+        this.rateLimited = meterRegistry.counter("admission.rejected", "reason", "rate", "priority", "any");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (clientRateLimiter != null && !clientRateLimiter.tryAcquire(clientId(request))) {
+            rateLimited.increment();
+            reject(response, 429, RATE_LIMITED_BODY);
+            return;
+        }
+
+        boolean write = isWrite(request);
+        if (!limit.tryAcquire(write)) {
+            (write ? rejectedWrites : rejectedReads).increment();
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, OVERLOADED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return false;
+        }
+        return !("POST".equals(method) && request.getRequestURI().endsWith("/tasks/lookup"));
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (clientHeader == null || clientHeader.isEmpty() || !trustedAddresses.contains(address)) {
+            return address;
+        }
+        String id = request.getHeader(clientHeader);
+        return id != null && !id.isEmpty() ? id : address;
+    }
+
+    private static void reject(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.springboottemplate.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets.
+ * Buckets live in a {@link ConcurrentHashMap}, whose striped bins keep clients from contending with each
+ * other; each bucket refills and spends tokens with CAS on a single packed {@link AtomicLong}, so no locks
+ * are taken on the request path. When more than {@code maxClients} buckets exist, full (idle) buckets are evicted.
+ */
+public class ClientRateLimiter {
+
+    // Token counts are kept in thousandths so fractional refills are not lost
+    private static final long SCALE = 1000;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final long ratePerSecond;
+    private final long capacity;
+    private final int maxClients;
+    // Timestamps are relative to this instant so they fit in the 40 high bits of the packed state
+    private final long epochMillis = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(long ratePerSecond, long burst, int maxClients) {
+        this.ratePerSecond = ratePerSecond;
+        // Packed state holds tokens in the low bits; keep scaled capacity within them
+        this.capacity = Math.min(burst * SCALE, TOKEN_MASK);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Take one token from the client's bucket
+     *
+     * @param clientId Client identifier
+     * @return true if the client is within its rate
+     */
+    public boolean tryAcquire(String clientId) {
+        long nowMillis = System.currentTimeMillis() - epochMillis;
+        AtomicLong bucket = buckets.get(clientId);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evictIdle(nowMillis);
+            }
+            bucket = buckets.computeIfAbsent(clientId, id -> new AtomicLong(pack(nowMillis, capacity)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long tokens = refilled(state, nowMillis);
+            if (tokens < SCALE) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, pack(Math.max(nowMillis, timestampOf(state)), tokens - SCALE))) {
+                return true;
+            }
+        }
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    private long refilled(long state, long nowMillis) {
+        long elapsed = Math.max(0, nowMillis - timestampOf(state));
+        return Math.min(capacity, tokensOf(state) + elapsed * ratePerSecond * SCALE / 1000);
+    }
+
+    private void evictIdle(long nowMillis) {
+        buckets.values().removeIf(bucket -> refilled(bucket.get(), nowMillis) >= capacity);
+    }
+
+    private static long pack(long timestampMillis, long tokens) {
+        return (timestampMillis << TOKEN_BITS) | tokens;
+    }
+
+    private static long timestampOf(long state) {
+        return state >>> TOKEN_BITS;
+    }
+
+    private static long tokensOf(long state) {
+        return state & TOKEN_MASK;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.springboottemplate.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Spreads task cache invalidations between the instances of a cluster sharing one database.
+ * <p>The task service publishes {@code (task ID, version)} after each commit; publishes are coalesced per task to the
+ * highest version and sent in batches every {@code batchWindow} over an {@link InvalidationTransport}. Receivers apply
+ * them with {@link TaskCache#invalidate}, which ignores versions older than the cached copy, so reordered messages do
+ * no harm. Every message carries the sender's node ID and a sequence number, and an idle sender sends an empty
+ * heartbeat; a receiver that sees a gap in a sender's sequence clears its whole cache instead of guessing what was lost.
+ * <p>Message layout: {@code magic:int | format:byte | flags:byte | node:long | sequence:long | count:short} followed by
+ * {@code count} entries of {@code taskId:long | version:long}, at most {@value #MAX_MESSAGE_SIZE} bytes so a message fits
+ * one Ethernet frame.
+ * Messages are counted as {@code cache.invalidation.messages{direction=sent|received}}, full cache flushes as
+ * {@code cache.invalidation.flushes{reason=loss|peer}}.
+ */
+@Component
+public class InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    static final int MAGIC = 0x54494e56;
+    static final byte FORMAT = 1;
+    /**
+     * The sender cleared its cache for changes it cannot enumerate; receivers clear theirs
+     */
+    static final byte FLUSH_ALL = 1;
+    static final int HEADER_SIZE = 24;
+    static final int ENTRY_SIZE = 16;
+    static final int MAX_MESSAGE_SIZE = 1400;
+    static final int MAX_ENTRIES = (MAX_MESSAGE_SIZE - HEADER_SIZE) / ENTRY_SIZE;
+
+    private static final int SEQUENCE_OFFSET = 14;
+    private static final int COUNT_OFFSET = 22;
+
+    private final TaskCache taskCache;
+    private final boolean enabled;
+    private final long heartbeatMillis;
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final InvalidationTransport transport;
+    private final ScheduledExecutorService sender;
+    private final Thread receiver;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter lossFlushes;
+    private final Counter peerFlushes;
+
+    // Only used by sendPending
+    private final ByteBuffer outgoing = ByteBuffer.allocate(MAX_MESSAGE_SIZE);
+    private long sequence;
+    private long lastSentAt;
+
+    /**
+     * Last sequence number per sender; only used by the receiver thread
+     */
+    private final Map<Long, Long> peerSequences = new HashMap<>();
+
+    private volatile boolean closed;
+
+    public InvalidationBus(TaskCache taskCache,
+                           MeterRegistry meterRegistry,
+                           @Value("${cache.invalidation.enabled:false}") boolean enabled,
+                           @Value("${cache.invalidation.transport:multicast}") String transportName,
+                           @Value("${cache.invalidation.multicast.group:239.255.42.99}") String multicastGroup,
+                           @Value("${cache.invalidation.multicast.port:45678}") int multicastPort,
+                           @Value("${cache.invalidation.multicast.interface:}") String multicastInterface,
+                           @Value("${cache.invalidation.multicast.ttl:1}") int multicastTtl,
+                           @Value("${cache.invalidation.unicast.port:45679}") int unicastPort,
+                           @Value("${cache.invalidation.unicast.peers:}") String unicastPeers,
+                           @Value("${cache.invalidation.batchWindow:10}") long batchWindowMillis,
+                           @Value("${cache.invalidation.heartbeatInterval:2000}") long heartbeatMillis) {
+        this.taskCache = taskCache;
+        this.enabled = enabled;
+        this.heartbeatMillis = heartbeatMillis;
+        this.sent = meterRegistry.counter("cache.invalidation.messages", "direction", "sent");
+        this.received = meterRegistry.counter("cache.invalidation.messages", "direction", "received");
+        this.lossFlushes = meterRegistry.counter("cache.invalidation.flushes", "reason", "loss");
+        this.peerFlushes = meterRegistry.counter("cache.invalidation.flushes", "reason", "peer");
+
+        if (!enabled) {
+            this.transport = null;
+            this.sender = null;
+            this.receiver = null;
+            logger.info("Cluster cache invalidation disabled");
+            return;
+        }
+        try {
+            this.transport = switch (transportName) {
+                case "multicast" -> new MulticastInvalidationTransport(multicastGroup, multicastPort,
+                        multicastInterface, multicastTtl);
+                case "unicast" -> new UnicastInvalidationTransport(unicastPort, unicastPeers);
+                default -> throw new IllegalArgumentException("Unknown cache invalidation transport: " + transportName);
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open cache invalidation transport " + transportName, e);
+        }
+
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sender.scheduleWithFixedDelay(this::sendPending, batchWindowMillis, batchWindowMillis, TimeUnit.MILLISECONDS);
+        this.receiver = new Thread(this::receiveLoop, "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        logger.info("Cluster cache invalidation enabled - Transport: {}, Node: {}, Batch window: {}ms, Heartbeat: {}ms",
+                transportName, Long.toHexString(nodeId), batchWindowMillis, heartbeatMillis);
+    }
+
+    /**
+     * Tell the other instances a task changed; call after the change committed
+     *
+     * @param id Task ID
+     * @param version Version written by the change; one above the last version for deletes
+     */
+    public void publish(Long id, long version) {
+        if (enabled) {
+            pending.merge(id, version, Math::max);
+        }
+    }
+
+    /**
+     * Tell the other instances to clear their whole cache, for changes that cannot be enumerated such as batch updates
+     */
+    public void publishFlush() {
+        if (enabled) {
+            flushRequested.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        sender.shutdown();
+        try {
+            sender.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Last batch from the caller, so commits right before shutdown still reach the peers
+        sendPending();
+        closed = true;
+        transport.close();
+    }
+
+    private synchronized void sendPending() {
+        if (closed) {
+            return;
+        }
+        try {
+            if (flushRequested.getAndSet(false)) {
+                // The flush covers everything pending
+                pending.clear();
+                send(FLUSH_ALL, 0);
+                return;
+            }
+            int count = 0;
+            outgoing.position(HEADER_SIZE);
+            for (Long id : pending.keySet()) {
+                Long version = pending.remove(id);
+                if (version == null) {
+                    continue;
+                }
+                outgoing.putLong(id).putLong(version);
+                if (++count == MAX_ENTRIES) {
+                    send((byte) 0, count);
+                    outgoing.position(HEADER_SIZE);
+                    count = 0;
+                }
+            }
+            if (count > 0 || System.currentTimeMillis() - lastSentAt >= heartbeatMillis) {
+                send((byte) 0, count);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Sending cache invalidations failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Send the entries already in the outgoing buffer. The sequence number is taken even if sending fails,
+     * so peers see the gap and flush.
+     */
+    private void send(byte flags, int count) {
+        int length = HEADER_SIZE + count * ENTRY_SIZE;
+        outgoing.putInt(0, MAGIC)
+                .put(4, FORMAT)
+                .put(5, flags)
+                .putLong(6, nodeId)
+                .putLong(SEQUENCE_OFFSET, ++sequence)
+                .putShort(COUNT_OFFSET, (short) count);
+        lastSentAt = System.currentTimeMillis();
+        try {
+            transport.send(outgoing.array(), length);
+            sent.increment();
+        } catch (IOException e) {
+            logger.warn("Sending cache invalidation message {} failed: {}", sequence, e.getMessage());
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_MESSAGE_SIZE];
+        while (true) {
+            int length;
+            try {
+                length = transport.receive(buffer);
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                logger.warn("Receiving cache invalidations failed: {}", e.getMessage());
+                continue;
+            }
+            if (length < 0) {
+                return;
+            }
+            try {
+                apply(ByteBuffer.wrap(buffer, 0, length), length);
+            } catch (RuntimeException e) {
+                logger.error("Applying cache invalidations failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void apply(ByteBuffer message, int length) {
+        if (length < HEADER_SIZE || message.getInt(0) != MAGIC || message.get(4) != FORMAT) {
+            logger.debug("Ignoring malformed cache invalidation message of {} bytes", length);
+            return;
+        }
+        long node = message.getLong(6);
+        if (node == nodeId) {
+            return;
+        }
+        byte flags = message.get(5);
+        long messageSequence = message.getLong(SEQUENCE_OFFSET);
+        int count = Short.toUnsignedInt(message.getShort(COUNT_OFFSET));
+        if (length < HEADER_SIZE + count * ENTRY_SIZE) {
+            logger.debug("Ignoring truncated cache invalidation message from node {}", Long.toHexString(node));
+            return;
+        }
+        received.increment();
+
+        // Duplicates and messages reordered behind a later one are versioned, applying them again is harmless
+        Long last = peerSequences.get(node);
+        if (last == null || messageSequence > last) {
+            peerSequences.put(node, messageSequence);
+            // A peer seen for the first time past its first message sent earlier ones while we were already listening
+            boolean missedFirst = last == null && messageSequence > 1
+                    && System.currentTimeMillis() - startedAt > 2 * heartbeatMillis;
+            if (missedFirst || (last != null && messageSequence > last + 1)) {
+                taskCache.clear();
+                lossFlushes.increment();
+                logger.warn("Lost cache invalidations from node {} before message {}, cleared the task cache",
+                        Long.toHexString(node), messageSequence);
+                return;
+            }
+        }
+
+        if ((flags & FLUSH_ALL) != 0) {
+            taskCache.clear();
+            peerFlushes.increment();
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_SIZE + i * ENTRY_SIZE;
+            taskCache.invalidate(message.getLong(offset), message.getLong(offset + 8));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.springboottemplate.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Datagram transport of the {@link InvalidationBus}. Delivery is best effort: messages may be lost, duplicated or
+ * reordered, the bus detects gaps itself.
+ */
+public interface InvalidationTransport extends Closeable {
+
+    /**
+     * Send a message to every peer
+     */
+    void send(byte[] message, int length) throws IOException;
+
+    /**
+     * Block until a message arrives
+     *
+     * @param buffer Receives the message; longer messages are truncated
+     * @return Length of the message, or -1 once the transport is closed
+     */
+    int receive(byte[] buffer) throws IOException;
+
+    @Override
+    void close();
+}
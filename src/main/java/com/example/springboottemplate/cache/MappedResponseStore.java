@@ -0,0 +1,432 @@
+package com.example.springboottemplate.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped file store of serialized responses with an in-memory index.
+ *
+ * <p>Record layout: {@code magic:int | keyLength:int | valueLength:int | checksum:long | writtenAt:long | key | value}.
+ * The checksum is a CRC32C over key and value and is validated on every read and during recovery.
+ * On open, the index is rebuilt in the background by scanning the file up to the first invalid record;
+ * until the scan completes, reads miss and writes are dropped. Superseded and expired records count as dead bytes
+ * (expired ones when a read finds them or a periodic sweep of the index does) and are reclaimed by background
+ * compaction into a fresh file.
+ */
+public class MappedResponseStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MappedResponseStore.class);
+
+    private static final int MAGIC = 0x55524331;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+    private static final String FILE_PREFIX = "responses-";
+    private static final String FILE_SUFFIX = ".dat";
+    private static final long FULL_COMPACTION_INTERVAL_MILLIS = 60_000;
+
+    private final Path directory;
+    private final int capacity;
+    private final long ttlMillis;
+    private final double compactionThreshold;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final AtomicLong checksumFailures = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    private final ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "response-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Segment segment;
+    private volatile boolean ready;
+    private long nextFullCompactionAt;
+    private volatile long nextSweepAt;
+
+    /**
+     * Open (or create) the store; the index is loaded lazily in the background
+     *
+     * @param directory Directory holding the store file
+     * @param maxBytes Size cap of the store file (at most 2GB, the limit of a single mapping)
+     * @param ttlMillis Entries older than this are treated as missing and dropped on compaction
+     * @param compactionThreshold Fraction of dead bytes that triggers compaction
+     */
+    public MappedResponseStore(Path directory, long maxBytes, long ttlMillis, double compactionThreshold) {
+        this.directory = directory;
+        this.capacity = (int) Math.min(maxBytes, Integer.MAX_VALUE);
+        this.ttlMillis = ttlMillis;
+        this.compactionThreshold = compactionThreshold;
+        this.nextSweepAt = System.currentTimeMillis() + sweepInterval();
+        try {
+            Files.createDirectories(directory);
+            this.segment = Segment.open(latestFile(), capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open response store in " + directory, e);
+        }
+        background.execute(this::recover);
+    }
+
+    /**
+     * A stored value and when it was written
+     */
+    public record Entry(byte[] value, long writtenAt) {
+    }
+
+    /**
+     * Get a stored value
+     *
+     * @param key Entry key
+     * @return The entry, or null if absent, expired, corrupt or the index is still loading
+     */
+    public Entry get(String key) {
+        if (!ready) {
+            return null;
+        }
+        Segment current = segment;
+        Integer offset = current.index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        MappedByteBuffer buffer = current.buffer;
+        int keyLength = buffer.getInt(offset + 4);
+        int valueLength = buffer.getInt(offset + 8);
+        long checksum = buffer.getLong(offset + 12);
+        long writtenAt = buffer.getLong(offset + 20);
+        if (isExpired(writtenAt)) {
+            expire(current, key, offset);
+            return null;
+        }
+        if (checksum(buffer, offset, keyLength, valueLength) != checksum) {
+            checksumFailures.incrementAndGet();
+            current.index.remove(key, offset);
+            logger.warn("Checksum mismatch for cached entry at offset {}, dropping it", offset);
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        buffer.get(offset + HEADER_SIZE + keyLength, value);
+        return new Entry(value, writtenAt);
+    }
+
+    /**
+     * Append a value. Writes are best effort: they are dropped (never block) while the index is loading,
+     * while compaction runs, or when the store is full.
+     *
+     * @param key Entry key
+     * @param value Entry value
+     */
+    public void put(String key, byte[] value) {
+        if (!ready || !writeLock.tryLock()) {
+            droppedWrites.incrementAndGet();
+            return;
+        }
+        try {
+            Segment current = segment;
+            long now = System.currentTimeMillis();
+            if (now >= nextSweepAt) {
+                nextSweepAt = now + sweepInterval();
+                background.execute(this::sweepExpired);
+            }
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            int recordSize = HEADER_SIZE + keyBytes.length + value.length;
+            int offset = current.writePosition;
+            if ((long) offset + recordSize > capacity) {
+                droppedWrites.incrementAndGet();
+                // A full store of live entries cannot be reclaimed on every write; retry compaction at most once a minute
+                if (now >= nextFullCompactionAt) {
+                    nextFullCompactionAt = now + FULL_COMPACTION_INTERVAL_MILLIS;
+                    scheduleCompaction();
+                }
+                return;
+            }
+            writeRecord(current.buffer, offset, keyBytes, value, now);
+            current.writePosition = offset + recordSize;
+            Integer previous = current.index.put(key, offset);
+            if (previous != null) {
+                current.deadBytes.addAndGet(recordSize(current.buffer, previous));
+            }
+            compactIfWorthwhile(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int entryCount() {
+        return segment.index.size();
+    }
+
+    public long usedBytes() {
+        return segment.writePosition;
+    }
+
+    public long checksumFailures() {
+        return checksumFailures.get();
+    }
+
+    public long compactions() {
+        return compactions.get();
+    }
+
+    public long droppedWrites() {
+        return droppedWrites.get();
+    }
+
+    @Override
+    public void close() {
+        background.shutdown();
+        writeLock.lock();
+        try {
+            ready = false;
+            segment.force();
+            segment.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index by scanning records until the first invalid one
+     */
+    private void recover() {
+        long start = System.nanoTime();
+        Segment current = segment;
+        MappedByteBuffer buffer = current.buffer;
+        int offset = 0;
+        int recovered = 0;
+        while ((long) offset + HEADER_SIZE <= capacity && buffer.getInt(offset) == MAGIC) {
+            int keyLength = buffer.getInt(offset + 4);
+            int valueLength = buffer.getInt(offset + 8);
+            long recordEnd = (long) offset + HEADER_SIZE + keyLength + valueLength;
+            if (keyLength < 0 || valueLength < 0 || recordEnd > capacity
+                    || checksum(buffer, offset, keyLength, valueLength) != buffer.getLong(offset + 12)) {
+                logger.warn("Invalid record at offset {}, truncating response store there", offset);
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(offset + HEADER_SIZE, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            Integer previous = current.index.remove(key);
+            if (previous != null) {
+                current.deadBytes.addAndGet(recordSize(buffer, previous));
+            }
+            if (isExpired(buffer.getLong(offset + 20))) {
+                current.deadBytes.addAndGet(recordEnd - offset);
+            } else {
+                current.index.put(key, offset);
+            }
+            offset = (int) recordEnd;
+            recovered++;
+        }
+        current.writePosition = offset;
+        ready = true;
+        logger.info("Response store loaded {} records ({} live, {} bytes) from {} in {}ms",
+                recovered, current.index.size(), offset, current.path,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Drop an expired record from the index and count it as dead, once even if several readers find it
+     */
+    private void expire(Segment current, String key, int offset) {
+        if (current.index.remove(key, offset)) {
+            current.deadBytes.addAndGet(recordSize(current.buffer, offset));
+        }
+    }
+
+    /**
+     * Expire the records nobody reads any more, so compaction sees them as dead
+     */
+    private void sweepExpired() {
+        if (!ready) {
+            return;
+        }
+        Segment current = segment;
+        for (Map.Entry<String, Integer> entry : current.index.entrySet()) {
+            int offset = entry.getValue();
+            if (isExpired(current.buffer.getLong(offset + 20))) {
+                expire(current, entry.getKey(), offset);
+            }
+        }
+        compactIfWorthwhile(current);
+    }
+
+    /**
+     * Compact once a meaningful part of the file is in use and enough of it is dead
+     */
+    private void compactIfWorthwhile(Segment current) {
+        if (current.writePosition > capacity / 4
+                && current.deadBytes.get() > current.writePosition * compactionThreshold) {
+            scheduleCompaction();
+        }
+    }
+
+    private long sweepInterval() {
+        return ttlMillis > 0 ? Math.max(ttlMillis, FULL_COMPACTION_INTERVAL_MILLIS) : Long.MAX_VALUE / 2;
+    }
+
+    private void scheduleCompaction() {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            background.execute(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    logger.error("Response store compaction failed: {}", e.getMessage(), e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Copy live, unexpired records into a fresh file and swap it in. Writes are dropped while copying;
+     * reads keep using the old mapping until the swap.
+     */
+    private void compact() throws IOException {
+        long start = System.nanoTime();
+        Segment old = segment;
+        Path path = directory.resolve(FILE_PREFIX + (old.generation + 1) + FILE_SUFFIX);
+        Segment fresh = Segment.open(path, capacity);
+        writeLock.lock();
+        try {
+            int offset = 0;
+            for (Map.Entry<String, Integer> entry : old.index.entrySet()) {
+                int source = entry.getValue();
+                if (isExpired(old.buffer.getLong(source + 20))) {
+                    continue;
+                }
+                int size = recordSize(old.buffer, source);
+                fresh.buffer.put(offset, old.buffer, source, size);
+                fresh.index.put(entry.getKey(), offset);
+                offset += size;
+            }
+            fresh.writePosition = offset;
+            segment = fresh;
+        } finally {
+            writeLock.unlock();
+        }
+        // The old mapping stays valid for in-flight readers until it is garbage collected
+        old.close();
+        Files.deleteIfExists(old.path);
+        compactions.incrementAndGet();
+        logger.info("Response store compacted {} -> {} bytes in {}ms",
+                old.writePosition, fresh.writePosition, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean isExpired(long writtenAt) {
+        return ttlMillis > 0 && System.currentTimeMillis() - writtenAt > ttlMillis;
+    }
+
+    private static void writeRecord(MappedByteBuffer buffer, int offset, byte[] key, byte[] value, long writtenAt) {
+        CRC32C crc = new CRC32C();
+        crc.update(key);
+        crc.update(value);
+        buffer.putInt(offset + 4, key.length);
+        buffer.putInt(offset + 8, value.length);
+        buffer.putLong(offset + 12, crc.getValue());
+        buffer.putLong(offset + 20, writtenAt);
+        buffer.put(offset + HEADER_SIZE, key);
+        buffer.put(offset + HEADER_SIZE + key.length, value);
+        // Magic last, so a torn record is never mistaken for a valid one
+        buffer.putInt(offset, MAGIC);
+    }
+
+    private static int recordSize(ByteBuffer buffer, int offset) {
+        return HEADER_SIZE + buffer.getInt(offset + 4) + buffer.getInt(offset + 8);
+    }
+
+    private static long checksum(ByteBuffer buffer, int offset, int keyLength, int valueLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_SIZE, keyLength + valueLength));
+        return crc.getValue();
+    }
+
+    /**
+     * Latest store file; older generations left over from an interrupted compaction are deleted
+     */
+    private Path latestFile() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream
+                    .filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX)
+                            && path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparingLong(Segment::generationOf))
+                    .toList();
+        }
+        if (files.isEmpty()) {
+            return directory.resolve(FILE_PREFIX + 0 + FILE_SUFFIX);
+        }
+        for (Path stale : files.subList(0, files.size() - 1)) {
+            Files.deleteIfExists(stale);
+        }
+        return files.get(files.size() - 1);
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long generation;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Map<String, Integer> index = new ConcurrentHashMap<>();
+        private final AtomicLong deadBytes = new AtomicLong();
+        private volatile int writePosition;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.generation = generationOf(path);
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+
+        static long generationOf(Path path) {
+            String name = path.getFileName().toString();
+            try {
+                return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close response store file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.springboottemplate.cache;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+
+/**
+ * Invalidations over UDP multicast: every instance joins the same group and port, no peer list needed.
+ * Loopback stays on, so several instances on one host see each other.
+ */
+public class MulticastInvalidationTransport implements InvalidationTransport {
+
+    private final MulticastSocket socket;
+    private final InetSocketAddress group;
+
+    /**
+     * @param groupAddress Multicast group, e.g. an administratively scoped 239.x.x.x address
+     * @param networkInterfaceName Interface to join the group on; blank for the system default
+     * @param ttl Hops multicast datagrams may travel; 1 keeps them on the local network
+     */
+    public MulticastInvalidationTransport(String groupAddress, int port, String networkInterfaceName, int ttl)
+            throws IOException {
+        this.group = new InetSocketAddress(InetAddress.getByName(groupAddress), port);
+        NetworkInterface networkInterface = null;
+        if (!networkInterfaceName.isBlank()) {
+            networkInterface = NetworkInterface.getByName(networkInterfaceName);
+            if (networkInterface == null) {
+                throw new IOException("Unknown network interface " + networkInterfaceName);
+            }
+        }
+        this.socket = new MulticastSocket(port);
+        try {
+            socket.setTimeToLive(ttl);
+            socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (networkInterface != null) {
+                socket.setNetworkInterface(networkInterface);
+            }
+            socket.joinGroup(group, networkInterface);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void send(byte[] message, int length) throws IOException {
+        socket.send(new DatagramPacket(message, length, group));
+    }
+
+    @Override
+    public int receive(byte[] buffer) throws IOException {
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        try {
+            socket.receive(packet);
+        } catch (SocketException e) {
+            if (socket.isClosed()) {
+                return -1;
+            }
+            throw e;
+        }
+        return packet.getLength();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.springboottemplate.cache;
+
+import com.example.springboottemplate.dto.TaskDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory LRU of task DTOs by ID for the JPA task service.
+ * Entries expire after the TTL and are evicted when the service updates or deletes a task; the todo sync clears the
+ * cache after runs that updated rows. Invalidations carry the task version they were caused by: a cached copy at that
+ * version or later survives, and older versions loaded by reads racing the write are no longer cached, see
+ * {@link #invalidate}. Cached DTOs are shared and must not be modified.
+ * Lookups are counted as {@code task.cache.requests{result=hit|miss}}.
+ */
+@Component
+public class TaskCache {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCache.class);
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<Long, CachedTask> entries;
+    /**
+     * Highest invalidated version per task, bounded like the entries
+     */
+    private final Map<Long, Long> invalidatedVersions;
+    private final Counter hits;
+    private final Counter misses;
+
+    public TaskCache(MeterRegistry meterRegistry,
+                     @Value("${cache.tasks.enabled:false}") boolean enabled,
+                     @Value("${cache.tasks.ttl:60}") long ttlSeconds,
+                     @Value("${cache.tasks.maxEntries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTask> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.invalidatedVersions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxEntries;
+            }
+        });
+
+        this.hits = meterRegistry.counter("task.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("task.cache.requests", "result", "miss");
+        Gauge.builder("task.cache.entries", entries, Map::size).register(meterRegistry);
+        logger.info("Task cache {} - TTL: {}s, Max entries: {}", enabled ? "enabled" : "disabled", ttlSeconds, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Look up a task
+     *
+     * @param id Task ID
+     * @return The cached task, or null on a miss or when the cache is disabled
+     */
+    public TaskDto get(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        CachedTask cached = entries.get(id);
+        if (cached != null && !isExpired(cached.storedAt())) {
+            hits.increment();
+            return cached.task();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Look up several tasks
+     *
+     * @param ids Task IDs
+     * @return Cached tasks by ID; IDs that missed are absent
+     */
+    public Map<Long, TaskDto> getAll(Collection<Long> ids) {
+        Map<Long, TaskDto> found = new HashMap<>();
+        if (!enabled) {
+            return found;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Long id : ids) {
+                CachedTask cached = entries.get(id);
+                if (cached != null && now - cached.storedAt() <= ttlMillis) {
+                    found.put(id, cached.task());
+                }
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(ids.size() - found.size());
+        return found;
+    }
+
+    public void put(TaskDto task) {
+        if (enabled && !isSuperseded(task)) {
+            entries.put(task.getId(), new CachedTask(task, System.currentTimeMillis()));
+        }
+    }
+
+    public void putAll(Collection<TaskDto> tasks) {
+        if (!enabled || tasks.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (TaskDto task : tasks) {
+                if (!isSuperseded(task)) {
+                    entries.put(task.getId(), new CachedTask(task, now));
+                }
+            }
+        }
+    }
+
+    public void evict(Long id) {
+        if (enabled) {
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Invalidate a task changed to the given version, here or on another instance. A cached copy at that version or
+     * later is kept, so invalidations arriving out of order do no harm, and from now on older versions are not cached.
+     *
+     * @param id Task ID
+     * @param version Version written by the change; one above the last version for deletes
+     */
+    public void invalidate(Long id, long version) {
+        if (!enabled) {
+            return;
+        }
+        invalidatedVersions.merge(id, version, Math::max);
+        synchronized (entries) {
+            CachedTask cached = entries.get(id);
+            if (cached != null && versionOf(cached.task()) < version) {
+                entries.remove(id);
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private boolean isSuperseded(TaskDto task) {
+        Long invalidated = invalidatedVersions.get(task.getId());
+        return invalidated != null && versionOf(task) < invalidated;
+    }
+
+    private static long versionOf(TaskDto task) {
+        return task.getVersion() != null ? task.getVersion() : -1;
+    }
+
+    private boolean isExpired(long storedAt) {
+        return System.currentTimeMillis() - storedAt > ttlMillis;
+    }
+
+    private record CachedTask(TaskDto task, long storedAt) {
+    }
+}
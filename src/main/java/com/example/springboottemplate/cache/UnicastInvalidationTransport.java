@@ -0,0 +1,71 @@
+package com.example.springboottemplate.cache;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidations over UDP unicast to a fixed peer list, for networks without multicast and for running several
+ * instances on localhost on different ports.
+ */
+public class UnicastInvalidationTransport implements InvalidationTransport {
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+
+    /**
+     * @param port Local port to receive on
+     * @param peers Comma-separated {@code host:port} list of the other instances
+     */
+    public UnicastInvalidationTransport(int port, String peers) throws IOException {
+        this.peers = parsePeers(peers);
+        this.socket = new DatagramSocket(port);
+    }
+
+    @Override
+    public void send(byte[] message, int length) throws IOException {
+        for (InetSocketAddress peer : peers) {
+            socket.send(new DatagramPacket(message, length, peer));
+        }
+    }
+
+    @Override
+    public int receive(byte[] buffer) throws IOException {
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        try {
+            socket.receive(packet);
+        } catch (SocketException e) {
+            if (socket.isClosed()) {
+                return -1;
+            }
+            throw e;
+        }
+        return packet.getLength();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalid invalidation peer, expected host:port: " + trimmed);
+            }
+            addresses.add(new InetSocketAddress(trimmed.substring(0, colon),
+                    Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.springboottemplate.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-tier cache of raw upstream response bodies.
+ * Tier 1 is an in-memory LRU bounded by entries and bytes; tier 2 is a {@link MappedResponseStore} on disk that survives restarts,
+ * so a freshly started node serves warm reads instead of hammering the upstream. Disk hits are promoted
+ * to memory with their original write time, so the TTL counts from the upstream fetch in both tiers. Lookups are counted per tier as {@code upstream.cache.requests{tier=memory|disk|miss}}.
+ */
+@Component
+public class UpstreamResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamResponseCache.class);
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long maxMemoryBytes;
+    private final Map<String, CachedBody> memory;
+    /**
+     * Sum of the bodies in memory; guarded by the memory map
+     */
+    private long memoryBytes;
+    private final MappedResponseStore disk;
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public UpstreamResponseCache(MeterRegistry meterRegistry,
+                                 @Value("${cache.upstream.enabled:false}") boolean enabled,
+                                 @Value("${cache.upstream.ttl:300}") long ttlSeconds,
+                                 @Value("${cache.upstream.memory.maxEntries:1000}") int maxMemoryEntries,
+                                 @Value("${cache.upstream.memory.maxSizeMb:16}") int maxMemorySizeMb,
+                                 @Value("${cache.upstream.disk.enabled:true}") boolean diskEnabled,
+                                 @Value("${cache.upstream.disk.directory:${java.io.tmpdir}/springboot-template-cache}") String diskDirectory,
+                                 @Value("${cache.upstream.disk.maxSizeMb:64}") int maxDiskSizeMb,
+                                 @Value("${cache.upstream.disk.compactionThreshold:0.5}") double compactionThreshold) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxMemoryBytes = maxMemorySizeMb * 1024L * 1024L;
+        this.memory = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+                if (size() > maxMemoryEntries) {
+                    memoryBytes -= eldest.getValue().body().length;
+                    return true;
+                }
+                return false;
+            }
+        });
+        this.disk = enabled && diskEnabled
+                ? new MappedResponseStore(Path.of(diskDirectory), maxDiskSizeMb * 1024L * 1024L, ttlMillis, compactionThreshold)
+                : null;
+
+        this.memoryHits = meterRegistry.counter("upstream.cache.requests", "tier", "memory");
+        this.diskHits = meterRegistry.counter("upstream.cache.requests", "tier", "disk");
+        this.misses = meterRegistry.counter("upstream.cache.requests", "tier", "miss");
+        Gauge.builder("upstream.cache.memory.entries", memory, Map::size).register(meterRegistry);
+        Gauge.builder("upstream.cache.memory.bytes", this, UpstreamResponseCache::memoryBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        if (disk != null) {
+            Gauge.builder("upstream.cache.disk.entries", disk, MappedResponseStore::entryCount).register(meterRegistry);
+            Gauge.builder("upstream.cache.disk.bytes", disk, MappedResponseStore::usedBytes)
+                    .baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("upstream.cache.disk.checksum.failures", disk, MappedResponseStore::checksumFailures)
+                    .register(meterRegistry);
+            Gauge.builder("upstream.cache.disk.compactions", disk, MappedResponseStore::compactions)
+                    .register(meterRegistry);
+            Gauge.builder("upstream.cache.disk.dropped.writes", disk, MappedResponseStore::droppedWrites)
+                    .register(meterRegistry);
+        }
+        logger.info("Upstream response cache {} - TTL: {}s, Memory: {} entries / {}MB, Disk tier: {}",
+                enabled ? "enabled" : "disabled", ttlSeconds, maxMemoryEntries, maxMemorySizeMb,
+                disk != null ? diskDirectory + " (" + maxDiskSizeMb + "MB)" : "disabled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Look up a response body, memory tier first
+     *
+     * @param key Cache key (request URL)
+     * @return The cached body, or null on a miss
+     */
+    public byte[] get(String key) {
+        CachedBody cached = memory.get(key);
+        if (cached != null && !isExpired(cached.storedAt())) {
+            memoryHits.increment();
+            return cached.body();
+        }
+        if (disk != null) {
+            MappedResponseStore.Entry entry = disk.get(key);
+            if (entry != null) {
+                diskHits.increment();
+                putMemory(key, new CachedBody(entry.value(), entry.writtenAt()));
+                return entry.value();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a response body in both tiers
+     *
+     * @param key Cache key (request URL)
+     * @param body Raw response body
+     */
+    public void put(String key, byte[] body) {
+        putMemory(key, new CachedBody(body, System.currentTimeMillis()));
+        if (disk != null) {
+            disk.put(key, body);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    long memoryBytes() {
+        synchronized (memory) {
+            return memoryBytes;
+        }
+    }
+
+    /**
+     * Insert into the memory tier, then evict least recently used bodies until it is within its byte bound
+     */
+    private void putMemory(String key, CachedBody cached) {
+        if (cached.body().length > maxMemoryBytes) {
+            return;
+        }
+        synchronized (memory) {
+            CachedBody previous = memory.put(key, cached);
+            memoryBytes += cached.body().length - (previous != null ? previous.body().length : 0);
+            Iterator<CachedBody> eldest = memory.values().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private boolean isExpired(long storedAt) {
+        return System.currentTimeMillis() - storedAt > ttlMillis;
+    }
+
+    private record CachedBody(byte[] body, long storedAt) {
+    }
+}
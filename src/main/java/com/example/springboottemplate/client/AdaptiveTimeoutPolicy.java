@@ -0,0 +1,103 @@
+package com.example.springboottemplate.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Computes per-endpoint response timeouts from recent upstream latency.
+ * The adaptive timeout is a configurable multiple of the endpoint's recent latency percentile
+ * (p99 by default), clamped to min/max bounds. Until enough samples are observed, or when adaptive
+ * timeouts are disabled, the static {@code webclient.timeout.response} value applies.
+ */
+@Component
+public class AdaptiveTimeoutPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveTimeoutPolicy.class);
+
+    private final LatencyTracker latencyTracker;
+    private final boolean enabled;
+    private final double percentile;
+    private final double multiplier;
+    private final int minSamples;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final Duration staticTimeout;
+
+    public AdaptiveTimeoutPolicy(LatencyTracker latencyTracker,
+                                 @Value("${webclient.timeout.adaptive.enabled:false}") boolean enabled,
+                                 @Value("${webclient.timeout.adaptive.percentile:0.99}") double percentile,
+                                 @Value("${webclient.timeout.adaptive.multiplier:3.0}") double multiplier,
+                                 @Value("${webclient.timeout.adaptive.minSamples:100}") int minSamples,
+                                 @Value("${webclient.timeout.adaptive.min:200}") long minTimeoutMillis,
+                                 @Value("${webclient.timeout.adaptive.max:10000}") long maxTimeoutMillis,
+                                 @Value("${webclient.timeout.response:120}") int staticTimeoutSeconds) {
+        this.latencyTracker = latencyTracker;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.minSamples = minSamples;
+        this.minTimeout = Duration.ofMillis(minTimeoutMillis);
+        this.maxTimeout = Duration.ofMillis(maxTimeoutMillis);
+        this.staticTimeout = Duration.ofSeconds(staticTimeoutSeconds);
+        logger.info("Adaptive timeouts {} - Percentile: {}, Multiplier: {}, Bounds: {}ms-{}ms, Fallback: {}s",
+                enabled ? "enabled" : "disabled", percentile, multiplier, minTimeoutMillis, maxTimeoutMillis,
+                staticTimeoutSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the response timeout to apply to the next request of an endpoint
+     *
+     * @param endpoint Logical endpoint name
+     * @return Adaptive timeout, or the static timeout if no estimate is available
+     */
+    public Duration responseTimeout(String endpoint) {
+        return adaptiveTimeout(endpoint).orElse(staticTimeout);
+    }
+
+    /**
+     * Get the current timeout of every tracked endpoint together with its latency distribution
+     *
+     * @return Map of endpoint name to timeout report, sorted by endpoint
+     */
+    public Map<String, TimeoutReport> report() {
+        Map<String, TimeoutReport> report = new TreeMap<>();
+        latencyTracker.summaries().forEach((endpoint, latency) -> {
+            Optional<Duration> adaptive = adaptiveTimeout(endpoint);
+            report.put(endpoint, new TimeoutReport(
+                    adaptive.orElse(staticTimeout).toMillis(),
+                    adaptive.isPresent() ? "adaptive" : "static",
+                    latency));
+        });
+        return report;
+    }
+
+    private Optional<Duration> adaptiveTimeout(String endpoint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return latencyTracker.percentile(endpoint, percentile, minSamples)
+                .map(observed -> {
+                    Duration timeout = Duration.ofNanos((long) (observed.toNanos() * multiplier));
+                    if (timeout.compareTo(minTimeout) < 0) {
+                        return minTimeout;
+                    }
+                    return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+                });
+    }
+
+    /**
+     * Current response timeout of an endpoint and the distribution behind it
+     */
+    public record TimeoutReport(long timeoutMs, String source, LatencyTracker.LatencySummary latency) {
+    }
+}
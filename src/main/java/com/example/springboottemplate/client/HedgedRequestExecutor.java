@@ -0,0 +1,160 @@
+package com.example.springboottemplate.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executes idempotent upstream requests with optional hedging.
+ * If the primary request has not produced a response after a delay derived from the observed
+ * latency percentile of the endpoint, a second identical request is sent; the first response wins
+ * and the other request is cancelled. A hedge budget caps hedges to a fraction of all requests.
+ */
+@Component
+public class HedgedRequestExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    private final LatencyTracker latencyTracker;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double delayPercentile;
+    private final int minSamples;
+    private final Duration minDelay;
+    private final Duration defaultDelay;
+    private final HedgeBudget budget;
+
+    public HedgedRequestExecutor(LatencyTracker latencyTracker,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${webclient.hedging.enabled:false}") boolean enabled,
+                                 @Value("${webclient.hedging.delayPercentile:0.95}") double delayPercentile,
+                                 @Value("${webclient.hedging.minSamples:50}") int minSamples,
+                                 @Value("${webclient.hedging.minDelay:20}") long minDelayMillis,
+                                 @Value("${webclient.hedging.defaultDelay:500}") long defaultDelayMillis,
+                                 @Value("${webclient.hedging.maxRatio:0.05}") double maxRatio,
+                                 @Value("${webclient.hedging.maxBurst:10}") int maxBurst) {
+        this.latencyTracker = latencyTracker;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.delayPercentile = delayPercentile;
+        this.minSamples = minSamples;
+        this.minDelay = Duration.ofMillis(minDelayMillis);
+        this.defaultDelay = Duration.ofMillis(defaultDelayMillis);
+        this.budget = new HedgeBudget(maxRatio, maxBurst);
+        logger.info("Request hedging {} - Percentile: {}, MinDelay: {}ms, MaxRatio: {}",
+                enabled ? "enabled" : "disabled", delayPercentile, minDelayMillis, maxRatio);
+    }
+
+    /**
+     * Execute an idempotent request, hedging it if enabled
+     *
+     * @param endpoint Logical endpoint name used for latency lookup and metrics
+     * @param request Supplier creating a fresh request on every call
+     * @return Mono with the first successful response
+     */
+    public <T> Mono<T> execute(String endpoint, Supplier<Mono<T>> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        return Mono.defer(() -> {
+            budget.deposit();
+            Duration delay = hedgeDelay(endpoint);
+            Sinks.One<Boolean> primaryDone = Sinks.one();
+
+            Mono<Tuple2<T, Boolean>> primary = request.get()
+                    .doFinally(signal -> primaryDone.tryEmitValue(Boolean.TRUE))
+                    .map(value -> Tuples.of(value, Boolean.FALSE));
+
+            Mono<Tuple2<T, Boolean>> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryDone.asMono())
+                    .filter(tick -> budget.tryWithdraw())
+                    .flatMap(tick -> {
+                        logger.debug("No response for {} after {}ms, sending hedged request", endpoint, delay.toMillis());
+                        meterRegistry.counter("webclient.hedge.sent", "endpoint", endpoint).increment();
+                        return request.get();
+                    })
+                    .map(value -> Tuples.of(value, Boolean.TRUE));
+
+            return Mono.firstWithValue(primary, hedge)
+                    .doOnNext(result -> {
+                        if (result.getT2()) {
+                            meterRegistry.counter("webclient.hedge.won", "endpoint", endpoint).increment();
+                        }
+                    })
+                    .map(Tuple2::getT1)
+                    .onErrorResume(NoSuchElementException.class, this::propagateSourceError);
+        });
+    }
+
+    /**
+     * Hedge delay: the configured percentile of recent latencies, never below the minimum delay
+     */
+    private Duration hedgeDelay(String endpoint) {
+        Duration delay = latencyTracker.percentile(endpoint, delayPercentile, minSamples)
+                .orElse(defaultDelay);
+        return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+    }
+
+    /**
+     * firstWithValue signals NoSuchElementException when no source produced a value;
+     * surface the original request error instead so callers see the same errors as without hedging
+     */
+    private <T> Mono<T> propagateSourceError(NoSuchElementException e) {
+        Throwable[] suppressed = e.getSuppressed();
+        if (suppressed.length > 0) {
+            return Mono.error(suppressed[0]);
+        }
+        if (e.getCause() != null) {
+            List<Throwable> errors = Exceptions.unwrapMultiple(e.getCause());
+            if (!errors.isEmpty()) {
+                return Mono.error(errors.get(0));
+            }
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Retry-budget style token bucket: every request deposits {@code maxRatio} tokens,
+     * every hedge withdraws one, and the balance is capped at {@code maxBurst} tokens.
+     */
+    static final class HedgeBudget {
+        private static final long SCALE = 1000;
+
+        private final long depositPerRequest;
+        private final long maxBalance;
+        private final AtomicLong balance = new AtomicLong();
+
+        HedgeBudget(double maxRatio, int maxBurst) {
+            this.depositPerRequest = Math.round(maxRatio * SCALE);
+            this.maxBalance = maxBurst * SCALE;
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+        }
+
+        boolean tryWithdraw() {
+            long current;
+            do {
+                current = balance.get();
+                if (current < SCALE) {
+                    return false;
+                }
+            } while (!balance.compareAndSet(current, current - SCALE));
+            return true;
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.example.springboottemplate.client;
 
 import com.example.springboottemplate.dto.JsonPlaceholderCommentDto;
+import com.example.springboottemplate.dto.JsonPlaceholderPostDetailDto;
 import com.example.springboottemplate.dto.JsonPlaceholderPostDto;
 import com.example.springboottemplate.dto.JsonPlaceholderTodoDto;
 import com.example.springboottemplate.dto.JsonPlaceholderUserDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.function.Tuples;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Client for interacting with the JSONPlaceholder API
@@ -25,13 +43,28 @@ public class JsonPlaceholderApiClient {
     private static final Logger logger = LoggerFactory.getLogger(JsonPlaceholderApiClient.class);
 
     private final WebClient webClient;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
     private final String apiBaseUrl;
+    private final int aggregationConcurrency;
+    private final int maxBodyBytes;
+    private final JsonFactory jsonFactory;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public JsonPlaceholderApiClient(WebClient webClient, 
-                           @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String apiBaseUrl) {
+                           HedgedRequestExecutor hedgedRequestExecutor,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${api.jsonplaceholder.base-url:https://jsonplaceholder.typicode.com}") String apiBaseUrl,
+                           @Value("${api.jsonplaceholder.aggregation.concurrency:8}") int aggregationConcurrency,
+                           @Value("${webclient.maxInMemorySize:2}") int maxInMemorySizeMb) {
         this.webClient = webClient;
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
         this.apiBaseUrl = apiBaseUrl;
+        this.aggregationConcurrency = aggregationConcurrency;
+        this.maxBodyBytes = maxInMemorySizeMb * 1024 * 1024;
+        this.jsonFactory = objectMapper.getFactory();
+        this.meterRegistry = meterRegistry;
         logger.info("Initialized JsonPlaceholderApiClient with base URL: {}", apiBaseUrl);
     }
 
@@ -45,11 +78,13 @@ public class JsonPlaceholderApiClient {
         
         return webClient.get()
                 .uri(apiBaseUrl + "/posts")
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getAllPosts")
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<JsonPlaceholderPostDto>>() {})
                 .doOnSuccess(posts -> logger.debug("Successfully fetched {} posts", posts.size()))
-                .doOnError(error -> logger.error("Error fetching posts: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching posts: {}", error.getMessage()))
+                .transform(timed("getAllPosts"));
     }
 
     /**
@@ -61,13 +96,15 @@ public class JsonPlaceholderApiClient {
     public Mono<JsonPlaceholderPostDto> getPostById(Long id) {
         logger.debug("Fetching post with ID: {}", id);
         
-        return webClient.get()
-                .uri(apiBaseUrl + "/posts/{id}", id)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(JsonPlaceholderPostDto.class)
+        return hedgedRequestExecutor.execute("getPostById", () -> webClient.get()
+                        .uri(apiBaseUrl + "/posts/{id}", id)
+                        .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getPostById")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(JsonPlaceholderPostDto.class))
                 .doOnSuccess(post -> logger.debug("Successfully fetched post: {}", post))
-                .doOnError(error -> logger.error("Error fetching post: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching post: {}", error.getMessage()))
+                .transform(timed("getPostById"));
     }
 
     /**
@@ -81,11 +118,13 @@ public class JsonPlaceholderApiClient {
         
         return webClient.get()
                 .uri(apiBaseUrl + "/posts/{postId}/comments", postId)
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getCommentsByPostId")
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<JsonPlaceholderCommentDto>>() {})
                 .doOnSuccess(comments -> logger.debug("Successfully fetched {} comments for post ID: {}", comments.size(), postId))
-                .doOnError(error -> logger.error("Error fetching comments: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching comments: {}", error.getMessage()))
+                .transform(timed("getCommentsByPostId"));
     }
 
     /**
@@ -99,12 +138,14 @@ public class JsonPlaceholderApiClient {
         
         return webClient.post()
                 .uri(apiBaseUrl + "/posts")
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "createPost")
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(post)
                 .retrieve()
                 .bodyToMono(JsonPlaceholderPostDto.class)
                 .doOnSuccess(createdPost -> logger.debug("Successfully created post: {}", createdPost))
-                .doOnError(error -> logger.error("Error creating post: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error creating post: {}", error.getMessage()))
+                .transform(timed("createPost"));
     }
 
     /**
@@ -119,12 +160,14 @@ public class JsonPlaceholderApiClient {
         
         return webClient.put()
                 .uri(apiBaseUrl + "/posts/{id}", id)
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "updatePost")
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(post)
                 .retrieve()
                 .bodyToMono(JsonPlaceholderPostDto.class)
                 .doOnSuccess(updatedPost -> logger.debug("Successfully updated post: {}", updatedPost))
-                .doOnError(error -> logger.error("Error updating post: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error updating post: {}", error.getMessage()))
+                .transform(timed("updatePost"));
     }
 
     /**
@@ -138,10 +181,12 @@ public class JsonPlaceholderApiClient {
         
         return webClient.delete()
                 .uri(apiBaseUrl + "/posts/{id}", id)
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "deletePost")
                 .retrieve()
                 .bodyToMono(Void.class)
                 .doOnSuccess(v -> logger.debug("Successfully deleted post with ID: {}", id))
-                .doOnError(error -> logger.error("Error deleting post: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error deleting post: {}", error.getMessage()))
+                .transform(timed("deletePost"));
     }
 
     /**
@@ -150,15 +195,26 @@ public class JsonPlaceholderApiClient {
      * @return Mono containing a list of users
      */
     public Mono<List<JsonPlaceholderUserDto>> getAllUsers() {
+        return getAllUsers(JsonPlaceholderUserDecoder.View.FULL);
+    }
+
+    /**
+     * Get all users decoded into the requested view
+     * 
+     * @param view The view to decode (SUMMARY or FULL)
+     * @return Mono containing a list of users
+     */
+    public <T> Mono<List<T>> getAllUsers(JsonPlaceholderUserDecoder.View<T> view) {
         logger.debug("Fetching all users");
         
-        return webClient.get()
-                .uri(apiBaseUrl + "/users")
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<JsonPlaceholderUserDto>>() {})
+        return decode(webClient.get()
+                        .uri(apiBaseUrl + "/users")
+                        .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getAllUsers")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve(), view::readList)
                 .doOnSuccess(users -> logger.debug("Successfully fetched {} users", users.size()))
-                .doOnError(error -> logger.error("Error fetching users: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching users: {}", error.getMessage()))
+                .transform(timed("getAllUsers"));
     }
 
     /**
@@ -168,15 +224,65 @@ public class JsonPlaceholderApiClient {
      * @return Mono containing the user
      */
     public Mono<JsonPlaceholderUserDto> getUserById(Long id) {
+        return getUserById(id, JsonPlaceholderUserDecoder.View.FULL);
+    }
+
+    /**
+     * Get a user by ID decoded into the requested view
+     * 
+     * @param id The user ID
+     * @param view The view to decode (SUMMARY or FULL)
+     * @return Mono containing the user
+     */
+    public <T> Mono<T> getUserById(Long id, JsonPlaceholderUserDecoder.View<T> view) {
         logger.debug("Fetching user with ID: {}", id);
         
-        return webClient.get()
-                .uri(apiBaseUrl + "/users/{id}", id)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(JsonPlaceholderUserDto.class)
+        return hedgedRequestExecutor.execute("getUserById", () -> decode(webClient.get()
+                        .uri(apiBaseUrl + "/users/{id}", id)
+                        .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getUserById")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve(), view::read))
                 .doOnSuccess(user -> logger.debug("Successfully fetched user: {}", user))
-                .doOnError(error -> logger.error("Error fetching user: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching user: {}", error.getMessage()))
+                .transform(timed("getUserById"));
+    }
+
+    /**
+     * Decode a response body straight from its buffers with a streaming parser,
+     * so only the fields of the requested view are materialized. Bypasses the codecs, so the body is capped at
+     * {@code webclient.maxInMemorySize} here, failing with a {@code DataBufferLimitException} like the codecs do
+     */
+    private <T> Mono<T> decode(WebClient.ResponseSpec response, ParserReader<T> reader) {
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxBodyBytes)
+                .map(buffer -> {
+                    try (InputStream body = buffer.asInputStream(true);
+                         JsonParser parser = jsonFactory.createParser(body)) {
+                        parser.nextToken();
+                        return reader.read(parser);
+                    } catch (IOException e) {
+                        throw new DecodingException("Failed to decode JSONPlaceholder response: " + e.getMessage(), e);
+                    }
+                });
+    }
+
+    /**
+     * Time a whole client call (hedging, retries and decoding included) as {@code upstream.client.calls}
+     */
+    private <T> Function<Mono<T>, Mono<T>> timed(String method) {
+        return call -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doFinally(signal -> sample.stop(Timer.builder("upstream.client.calls")
+                    .tag("method", method)
+                    .tag("outcome", signal == SignalType.ON_COMPLETE ? "success"
+                            : signal == SignalType.ON_ERROR ? "error" : "cancelled")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        });
+    }
+
+    @FunctionalInterface
+    private interface ParserReader<T> {
+        T read(JsonParser parser) throws IOException;
     }
 
     /**
@@ -189,11 +295,13 @@ public class JsonPlaceholderApiClient {
         
         return webClient.get()
                 .uri(apiBaseUrl + "/todos")
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getAllTodos")
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<JsonPlaceholderTodoDto>>() {})
                 .doOnSuccess(todos -> logger.debug("Successfully fetched {} todos", todos.size()))
-                .doOnError(error -> logger.error("Error fetching todos: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching todos: {}", error.getMessage()))
+                .transform(timed("getAllTodos"));
     }
 
     /**
@@ -207,10 +315,64 @@ public class JsonPlaceholderApiClient {
         
         return webClient.get()
                 .uri(apiBaseUrl + "/users/{userId}/todos", userId)
+                .attribute(LatencyTracker.ENDPOINT_ATTRIBUTE, "getTodosByUserId")
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<List<JsonPlaceholderTodoDto>>() {})
                 .doOnSuccess(todos -> logger.debug("Successfully fetched {} todos for user ID: {}", todos.size(), userId))
-                .doOnError(error -> logger.error("Error fetching todos: {}", error.getMessage()));
+                .doOnError(error -> logger.error("Error fetching todos: {}", error.getMessage()))
+                .transform(timed("getTodosByUserId"));
+    }
+
+    /**
+     * Get a post together with its author and comments
+     * 
+     * @param postId The post ID
+     * @return Mono containing the post detail, or empty if the post does not exist
+     */
+    public Mono<JsonPlaceholderPostDetailDto> getPostDetail(Long postId) {
+        return getPostDetail(postId, new ConcurrentHashMap<>())
+                .transform(timed("getPostDetail"));
+    }
+
+    /**
+     * Get several posts together with their authors and comments.
+     * Posts are fetched with at most {@code api.jsonplaceholder.aggregation.concurrency} posts in flight,
+     * each author is looked up only once across all posts, and results keep the order of the given IDs.
+     * Posts that do not exist are omitted.
+     * 
+     * @param postIds The post IDs
+     * @return Mono containing the post details in request order
+     */
+    public Mono<List<JsonPlaceholderPostDetailDto>> getPostDetails(List<Long> postIds) {
+        logger.debug("Fetching details for {} posts with concurrency {}", postIds.size(), aggregationConcurrency);
+        
+        Map<Long, Mono<JsonPlaceholderUserDto>> authors = new ConcurrentHashMap<>();
+        return Flux.fromIterable(postIds)
+                .flatMapSequential(postId -> getPostDetail(postId, authors), aggregationConcurrency)
+                .collectList()
+                .doOnSuccess(details -> logger.debug("Successfully fetched details for {} posts ({} distinct authors)",
+                        details.size(), authors.size()))
+                .transform(timed("getPostDetails"));
+    }
+
+    /**
+     * Post detail composition: the post and its comments are fetched concurrently, and the author
+     * lookup is shared through {@code authors} so each user is requested at most once per aggregation
+     */
+    private Mono<JsonPlaceholderPostDetailDto> getPostDetail(Long postId, Map<Long, Mono<JsonPlaceholderUserDto>> authors) {
+        Mono<JsonPlaceholderPostDto> post = getPostById(postId)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+        
+        return Mono.zip(
+                        post.flatMap(p -> authors.computeIfAbsent(p.getUserId(),
+                                        userId -> getUserById(userId).cache())
+                                .map(author -> Tuples.of(p, author))),
+                        getCommentsByPostId(postId))
+                .map(tuple -> JsonPlaceholderPostDetailDto.builder()
+                        .post(tuple.getT1().getT1())
+                        .author(tuple.getT1().getT2())
+                        .comments(tuple.getT2())
+                        .build());
     }
 }
@@ -0,0 +1,190 @@
+package com.example.springboottemplate.client;
+
+import com.example.springboottemplate.dto.JsonPlaceholderUserDto;
+import com.example.springboottemplate.dto.JsonPlaceholderUserSummaryDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projection-aware streaming decoder for JSONPlaceholder user payloads.
+ * Fields are read straight from the token stream; subtrees the requested view does not need
+ * are skipped with {@link JsonParser#skipChildren()} without materializing any objects or strings,
+ * and geo coordinates are parsed into primitive doubles.
+ */
+public final class JsonPlaceholderUserDecoder {
+
+    private JsonPlaceholderUserDecoder() {
+    }
+
+    /**
+     * Decoded representation of a user requested by a caller
+     *
+     * @param <T> Type the view decodes to
+     */
+    public static final class View<T> {
+
+        /**
+         * id, name and email only; address and company are skipped
+         */
+        public static final View<JsonPlaceholderUserSummaryDto> SUMMARY = new View<>(JsonPlaceholderUserDecoder::readSummary);
+
+        /**
+         * The complete user including address, geo and company
+         */
+        public static final View<JsonPlaceholderUserDto> FULL = new View<>(JsonPlaceholderUserDecoder::readFull);
+
+        private final ObjectReader<T> reader;
+
+        private View(ObjectReader<T> reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Read one user object; the parser must be positioned on its START_OBJECT token
+         */
+        public T read(JsonParser parser) throws IOException {
+            return reader.read(parser);
+        }
+
+        /**
+         * Read an array of users; the parser must be positioned on its START_ARRAY token
+         */
+        public List<T> readList(JsonParser parser) throws IOException {
+            expect(parser, JsonToken.START_ARRAY);
+            List<T> users = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                users.add(reader.read(parser));
+            }
+            return users;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ObjectReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    static JsonPlaceholderUserSummaryDto readSummary(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        JsonPlaceholderUserSummaryDto user = new JsonPlaceholderUserSummaryDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> user.setId(readLong(parser));
+                case "name" -> user.setName(readString(parser));
+                case "email" -> user.setEmail(readString(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    static JsonPlaceholderUserDto readFull(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        JsonPlaceholderUserDto user = new JsonPlaceholderUserDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> user.setId(readLong(parser));
+                case "name" -> user.setName(readString(parser));
+                case "username" -> user.setUsername(readString(parser));
+                case "email" -> user.setEmail(readString(parser));
+                case "phone" -> user.setPhone(readString(parser));
+                case "website" -> user.setWebsite(readString(parser));
+                case "address" -> user.setAddress(token == JsonToken.START_OBJECT ? readAddress(parser) : skipValue(parser));
+                case "company" -> user.setCompany(token == JsonToken.START_OBJECT ? readCompany(parser) : skipValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    private static JsonPlaceholderUserDto.Address readAddress(JsonParser parser) throws IOException {
+        JsonPlaceholderUserDto.Address address = new JsonPlaceholderUserDto.Address();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "street" -> address.setStreet(readString(parser));
+                case "suite" -> address.setSuite(readString(parser));
+                case "city" -> address.setCity(readString(parser));
+                case "zipcode" -> address.setZipcode(readString(parser));
+                case "geo" -> address.setGeo(token == JsonToken.START_OBJECT ? readGeo(parser) : skipValue(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return address;
+    }
+
+    private static JsonPlaceholderUserDto.Address.Geo readGeo(JsonParser parser) throws IOException {
+        JsonPlaceholderUserDto.Address.Geo geo = new JsonPlaceholderUserDto.Address.Geo();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                // getValueAsDouble parses both numeric and string tokens ("-37.3159")
+                case "lat" -> geo.setLat(readDouble(parser));
+                case "lng" -> geo.setLng(readDouble(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return geo;
+    }
+
+    private static JsonPlaceholderUserDto.Company readCompany(JsonParser parser) throws IOException {
+        JsonPlaceholderUserDto.Company company = new JsonPlaceholderUserDto.Company();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> company.setName(readString(parser));
+                case "catchPhrase" -> company.setCatchPhrase(readString(parser));
+                case "bs" -> company.setBs(readString(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return company;
+    }
+
+    private static Long readLong(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isScalarValue() || parser.currentToken() == JsonToken.VALUE_NULL) {
+            return skipValue(parser);
+        }
+        return parser.getValueAsLong();
+    }
+
+    private static double readDouble(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isScalarValue()) {
+            parser.skipChildren();
+            return 0.0;
+        }
+        return parser.getValueAsDouble();
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isScalarValue() || parser.currentToken() == JsonToken.VALUE_NULL) {
+            return skipValue(parser);
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * Skip the current value (a no-op for scalars) and decode it as null
+     */
+    private static <T> T skipValue(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new IOException(String.format("Expected %s but found %s", expected, parser.currentToken()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.springboottemplate.client;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks observed upstream latencies per logical endpoint.
+ * Requests are tagged with {@link #ENDPOINT_ATTRIBUTE} and recorded by the WebClient latency filter.
+ * Each endpoint keeps an HdrHistogram {@link Recorder} whose intervals are rotated into a sliding
+ * window, so percentile lookups read an immutable snapshot and never contend with recording.
+ */
+@Component
+public class LatencyTracker {
+
+    /**
+     * WebClient request attribute holding the logical endpoint name (e.g. "getUserById")
+     */
+    public static final String ENDPOINT_ATTRIBUTE = LatencyTracker.class.getName() + ".endpoint";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final int windowIntervals;
+
+    public LatencyTracker(@Value("${webclient.latency.intervalSeconds:5}") int intervalSeconds,
+                          @Value("${webclient.latency.windowIntervals:12}") int windowIntervals) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        this.windowIntervals = windowIntervals;
+    }
+
+    /**
+     * Record a single observed latency
+     *
+     * @param endpoint Logical endpoint name
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(String endpoint, long nanos) {
+        windows.computeIfAbsent(endpoint, key -> new LatencyWindow()).record(nanos);
+    }
+
+    /**
+     * Get a latency percentile over the sliding window of an endpoint
+     *
+     * @param endpoint Logical endpoint name
+     * @param percentile Percentile between 0.0 and 1.0
+     * @param minSamples Minimum number of samples required for a meaningful estimate
+     * @return The percentile, or empty if not enough samples were recorded yet
+     */
+    public Optional<Duration> percentile(String endpoint, double percentile, int minSamples) {
+        LatencyWindow window = windows.get(endpoint);
+        if (window == null) {
+            return Optional.empty();
+        }
+        Histogram histogram = window.snapshot();
+        if (histogram.getTotalCount() < minSamples) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.of(histogram.getValueAtPercentile(percentile * 100.0), ChronoUnit.MICROS));
+    }
+
+    /**
+     * Get the latency distributions of all tracked endpoints
+     *
+     * @return Map of endpoint name to distribution summary, sorted by endpoint
+     */
+    public Map<String, LatencySummary> summaries() {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        windows.forEach((endpoint, window) -> summaries.put(endpoint, LatencySummary.of(window.snapshot())));
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    /**
+     * Distribution summary of an endpoint's sliding window, in milliseconds
+     */
+    public record LatencySummary(long count, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static LatencySummary of(Histogram histogram) {
+            return new LatencySummary(
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50.0) / 1000.0,
+                    histogram.getValueAtPercentile(90.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    private final class LatencyWindow {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Deque<Histogram> intervals = new ArrayDeque<>();
+        private volatile Histogram snapshot = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private volatile long nextRotationNanos = System.nanoTime() + intervalNanos;
+
+        void record(long nanos) {
+            long micros = Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+            recorder.recordValue(micros);
+            rotateIfDue();
+        }
+
+        Histogram snapshot() {
+            rotateIfDue();
+            return snapshot;
+        }
+
+        private void rotateIfDue() {
+            if (System.nanoTime() - nextRotationNanos >= 0) {
+                rotate();
+            }
+        }
+
+        private synchronized void rotate() {
+            long now = System.nanoTime();
+            if (now - nextRotationNanos < 0) {
+                return;
+            }
+            intervals.addLast(recorder.getIntervalHistogram());
+            while (intervals.size() > windowIntervals) {
+                intervals.removeFirst();
+            }
+            Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            intervals.forEach(merged::add);
+            snapshot = merged;
+            nextRotationNanos = now + intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springboottemplate.client;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint reporting the current upstream response timeouts
+ * and the latency distributions they are derived from
+ * (GET /actuator/webclienttimeouts)
+ */
+@Component
+@Endpoint(id = "webclienttimeouts")
+public class WebClientTimeoutsEndpoint {
+
+    private final AdaptiveTimeoutPolicy adaptiveTimeoutPolicy;
+
+    public WebClientTimeoutsEndpoint(AdaptiveTimeoutPolicy adaptiveTimeoutPolicy) {
+        this.adaptiveTimeoutPolicy = adaptiveTimeoutPolicy;
+    }
+
+    @ReadOperation
+    public Map<String, AdaptiveTimeoutPolicy.TimeoutReport> timeouts() {
+        return adaptiveTimeoutPolicy.report();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.springboottemplate.compression;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * LRU of gzipped response bodies, bounded by the bytes it holds, keyed by their raw bytes, so a body that goes out again unchanged (a cached
+ * task, a page nobody modified) is compressed once. Entries keep the raw bytes next to the compressed ones and a
+ * lookup compares them, so a hash collision can never serve another body. Hashing and comparing a body costs a small
+ * fraction of deflating it.
+ */
+public class CompressedBodyCache {
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    /**
+     * Guarded by itself, like {@link #bytes}
+     */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    /**
+     * @param maxBytes Raw and compressed bytes kept in total
+     * @param maxEntryBytes Larger bodies are not cached
+     */
+    public CompressedBodyCache(long maxBytes, int maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * @return The gzipped body, or null if it is not cached
+     */
+    public byte[] get(byte[] body) {
+        if (body.length > maxEntryBytes) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key(body));
+        }
+        if (entry == null || !Arrays.equals(entry.raw(), body)) {
+            return null;
+        }
+        return entry.compressed();
+    }
+
+    /**
+     * @param body Raw body; kept, so it must not be modified afterwards
+     */
+    public void put(byte[] body, byte[] compressed) {
+        if (body.length > maxEntryBytes || body.length + compressed.length > maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(body, compressed);
+        synchronized (entries) {
+            Entry previous = entries.put(key(body), entry);
+            if (previous != null) {
+                bytes -= previous.size();
+            }
+            bytes += entry.size();
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes) {
+                bytes -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Raw and compressed bytes held
+     */
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    private static Long key(byte[] body) {
+        return ((long) Arrays.hashCode(body) << 32) | body.length;
+    }
+
+    private record Entry(byte[] raw, byte[] compressed) {
+
+        long size() {
+            return raw.length + compressed.length;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.springboottemplate.compression;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip encoding of whole bodies with a pool of {@link Deflater}s.
+ * <p>A {@code GZIPOutputStream} per response allocates and initializes a Deflater with a few hundred KB of native zlib
+ * state each time; here raw-deflate Deflaters are reset and reused, and the gzip header and trailer (RFC 1952) are
+ * written directly. When all pooled Deflaters are in use a temporary one is created and ended after use.
+ */
+public class GzipCompressor {
+
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, // Magic
+            Deflater.DEFLATED, // Compression method
+            0,                 // Flags
+            0, 0, 0, 0,        // Modification time
+            0,                 // Extra flags
+            (byte) 0xff        // Operating system: unknown
+    };
+    private static final int TRAILER_SIZE = 8;
+
+    private final int level;
+    private final BlockingQueue<Deflater> pool;
+
+    /**
+     * @param level Deflate level, 1 (fastest) to 9 (smallest)
+     * @param poolSize Deflaters kept for reuse; about the number of concurrently compressing requests
+     */
+    public GzipCompressor(int level, int poolSize) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9: " + level);
+        }
+        this.level = level;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public int level() {
+        return level;
+    }
+
+    public byte[] compress(byte[] body) {
+        int length = body.length;
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            deflater.setInput(body, 0, length);
+            deflater.finish();
+            // Text bodies usually shrink to well under half; grown below when they do not
+            byte[] out = new byte[HEADER.length + length / 2 + 64];
+            System.arraycopy(HEADER, 0, out, 0, HEADER.length);
+            int size = HEADER.length;
+            while (!deflater.finished()) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                size += deflater.deflate(out, size, out.length - size);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(body, 0, length);
+            if (out.length - size < TRAILER_SIZE) {
+                out = Arrays.copyOf(out, size + TRAILER_SIZE);
+            }
+            size = writeIntLittleEndian(out, size, (int) crc.getValue());
+            size = writeIntLittleEndian(out, size, length);
+            return size == out.length ? out : Arrays.copyOf(out, size);
+        } finally {
+            deflater.reset();
+            if (!pool.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static int writeIntLittleEndian(byte[] out, int offset, int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >>> 8);
+        out[offset + 2] = (byte) (value >>> 16);
+        out[offset + 3] = (byte) (value >>> 24);
+        return offset + 4;
+    }
+}
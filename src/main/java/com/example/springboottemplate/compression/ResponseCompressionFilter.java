@@ -0,0 +1,190 @@
+package com.example.springboottemplate.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Gzips response bodies for clients that accept it. The body is buffered, then compressed when the response is
+ * successful (2xx), at least {@code minSize} bytes and of an allowed content type; everything else, error responses
+ * included, is passed on unchanged. Compressed bodies are looked up in a {@link CompressedBodyCache} first; only
+ * {@code GET} responses are added to it, since only those tend to repeat.
+ * Responses are counted as {@code http.server.compression.responses{result=compressed|cached|small}}, bytes before
+ * and after as {@code http.server.compression.bytes{stage=raw|compressed}}.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final GzipCompressor compressor;
+    private final CompressedBodyCache cache;
+    private final int minSize;
+    private final List<MediaType> mimeTypes;
+    private final Counter compressed;
+    private final Counter cached;
+    private final Counter small;
+    private final Counter rawBytes;
+    private final Counter compressedBytes;
+
+    /**
+     * @param cache Cache of compressed bodies, or null to compress every time
+     */
+    public ResponseCompressionFilter(MeterRegistry meterRegistry, GzipCompressor compressor, CompressedBodyCache cache,
+                                     int minSize, List<MediaType> mimeTypes) {
+        this.compressor = compressor;
+        this.cache = cache;
+        this.minSize = minSize;
+        this.mimeTypes = mimeTypes;
+        this.compressed = meterRegistry.counter("http.server.compression.responses", "result", "compressed");
+        this.cached = meterRegistry.counter("http.server.compression.responses", "result", "cached");
+        this.small = meterRegistry.counter("http.server.compression.responses", "result", "small");
+        this.rawBytes = Counter.builder("http.server.compression.bytes").tag("stage", "raw")
+                .baseUnit("bytes").register(meterRegistry);
+        this.compressedBytes = Counter.builder("http.server.compression.bytes").tag("stage", "compressed")
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Async handlers such as the {@code Mono} endpoints write their body in the async dispatch, which reuses the
+     * wrapper of the initial one; the body is compressed when that completes
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean asyncDispatch = isAsyncDispatch(request);
+        if (!asyncDispatch) {
+            // Shared caches must not serve a gzipped body to a client that did not ask for one, or the other way round
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if ("HEAD".equals(request.getMethod()) || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse responseToUse = asyncDispatch ? response : new CompressingResponseWrapper(response);
+        try {
+            chain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                CompressingResponseWrapper wrapper =
+                        WebUtils.getNativeResponse(responseToUse, CompressingResponseWrapper.class);
+                if (wrapper != null) {
+                    finish(wrapper, "GET".equals(request.getMethod()));
+                }
+            }
+        }
+    }
+
+    private void finish(CompressingResponseWrapper wrapper, boolean cacheable) throws IOException {
+        HttpServletResponse response = (HttpServletResponse) wrapper.getResponse();
+        int length = wrapper.getContentSize();
+        if (response.isCommitted() || !isCompressible(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        if (length < minSize) {
+            small.increment();
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        byte[] gzipped = cache != null ? cache.get(body) : null;
+        if (gzipped != null) {
+            cached.increment();
+        } else {
+            gzipped = compressor.compress(body);
+            compressed.increment();
+            if (cache != null && cacheable) {
+                cache.put(body, gzipped);
+            }
+        }
+        rawBytes.increment(length);
+        compressedBytes.increment(gzipped.length);
+
+        wrapper.resetBuffer();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setContentLength(gzipped.length);
+        response.getOutputStream().write(gzipped);
+    }
+
+    private boolean isCompressible(ContentCachingResponseWrapper wrapper) {
+        int status = wrapper.getStatus();
+        if (status < 200 || status >= 300 || status == HttpServletResponse.SC_NO_CONTENT
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null || wrapper.getContentType() == null) {
+            return false;
+        }
+        MediaType contentType;
+        try {
+            contentType = MediaType.parseMediaType(wrapper.getContentType());
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: listed as {@code gzip}, {@code x-gzip} or {@code *},
+     * without {@code q=0}
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals(GZIP) && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Own subclass, so the async dispatch finds this filter's buffer and not that of another buffering filter
+     */
+    private static final class CompressingResponseWrapper extends ContentCachingResponseWrapper {
+
+        CompressingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.admission.AdaptiveConcurrencyLimit;
+import com.example.springboottemplate.admission.AdmissionControlFilter;
+import com.example.springboottemplate.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registers adaptive admission control for the tasks API, ahead of the security filter chain
+ * so rejected requests cost as little as possible
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    @Value("${admission.limit.initial:20}")
+    private int initialLimit;
+
+    @Value("${admission.limit.min:4}")
+    private int minLimit;
+
+    @Value("${admission.limit.max:200}")
+    private int maxLimit;
+
+    @Value("${admission.limit.backoffRatio:0.9}")
+    private double backoffRatio;
+
+    @Value("${admission.limit.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${admission.limit.writeShare:0.8}")
+    private double writeShare;
+
+    @Value("${admission.clients.enabled:false}")
+    private boolean clientsEnabled;
+
+    @Value("${admission.clients.rate:50}")
+    private long clientRate;
+
+    @Value("${admission.clients.burst:100}")
+    private long clientBurst;
+
+    @Value("${admission.clients.header:}")
+    private String clientHeader;
+
+    @Value("${admission.clients.trustedAddresses:}")
+    private String trustedAddresses;
+
+    @Value("${admission.clients.maxTracked:10000}")
+    private int maxTrackedClients;
+
+    @Bean
+    public AdaptiveConcurrencyLimit taskConcurrencyLimit(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                backoffRatio, tolerance, writeShare);
+        Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+        Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::getInflight).register(meterRegistry);
+        return limit;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdaptiveConcurrencyLimit taskConcurrencyLimit,
+                                                                                 MeterRegistry meterRegistry) {
+        ClientRateLimiter clientRateLimiter = null;
+        if (clientsEnabled) {
+            clientRateLimiter = new ClientRateLimiter(clientRate, clientBurst, maxTrackedClients);
+            Gauge.builder("admission.clients.tracked", clientRateLimiter, ClientRateLimiter::getTrackedClients)
+                    .register(meterRegistry);
+        }
+        logger.info("Admission control enabled for /tasks - Limit: {} ({}-{}), Write share: {}, Per-client rate: {}",
+                initialLimit, minLimit, maxLimit, writeShare, clientsEnabled ? clientRate + "/s" : "disabled");
+
+        Set<String> trusted = Arrays.stream(trustedAddresses.split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        if (clientsEnabled && !clientHeader.isEmpty() && trusted.isEmpty()) {
+            logger.warn("admission.clients.header is set but admission.clients.trustedAddresses is empty; "
+                    + "clients are keyed by remote address");
+        }
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(taskConcurrencyLimit, clientRateLimiter, clientHeader, trusted, meterRegistry));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.monitoring.InstrumentedDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in an {@link InstrumentedDataSource} when Server-Timing
+ * or statement counting is enabled
+ */
+@Configuration
+@ConditionalOnExpression("${timing.enabled:false} or ${sql.statements.enabled:false}")
+public class DataSourceInstrumentationConfig {
+
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(
+            @Value("${sql.statements.enabled:false}") boolean countStatements,
+            @Value("${sql.statements.transactionBudget:20}") int transactionBudget) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, countStatements, transactionBudget);
+                }
+                return bean;
+            }
+        };
+    }
+}
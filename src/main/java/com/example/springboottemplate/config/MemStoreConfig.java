@@ -0,0 +1,66 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.due.DueTaskSource;
+import com.example.springboottemplate.store.JournaledTaskStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+/**
+ * Memstore mode: the tasks API on {@link JournaledTaskStore} instead of JPA.
+ * Opening the store recovers it from its snapshot and journal; the due timers are rebuilt from the store, not the
+ * tasks table.
+ */
+@Configuration
+@Profile("memstore")
+public class MemStoreConfig {
+    private static final Logger logger = LoggerFactory.getLogger(MemStoreConfig.class);
+
+    @Value("${memstore.directory:${java.io.tmpdir}/springboot-template-store}")
+    private String directory;
+
+    @Value("${memstore.stripes:64}")
+    private int stripes;
+
+    @Value("${memstore.journal.fsync:true}")
+    private boolean fsync;
+
+    @Value("${memstore.snapshot.interval:300}")
+    private long snapshotIntervalSeconds;
+
+    @Bean(destroyMethod = "close")
+    public JournaledTaskStore taskStore(MeterRegistry meterRegistry) {
+        logger.info("Opening task store - Directory: {}, Stripes: {}, Fsync: {}, Snapshot interval: {}s",
+                directory, stripes, fsync, snapshotIntervalSeconds);
+        JournaledTaskStore store = new JournaledTaskStore(Path.of(directory), stripes, fsync, snapshotIntervalSeconds * 1000);
+
+        Gauge.builder("memstore.tasks", store, JournaledTaskStore::size).register(meterRegistry);
+        Gauge.builder("memstore.journal.bytes", store, JournaledTaskStore::journalBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("memstore.journal.syncs", store, JournaledTaskStore::journalSyncs)
+                .description("Journal write groups, one fsync each")
+                .register(meterRegistry);
+        FunctionCounter.builder("memstore.journal.records", store, JournaledTaskStore::journalRecords)
+                .description("Journal records written")
+                .register(meterRegistry);
+        FunctionCounter.builder("memstore.snapshots", store, JournaledTaskStore::snapshots).register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    public DueTaskSource dueTaskSource(JournaledTaskStore taskStore) {
+        return (after, action) -> taskStore.forEach(task -> {
+            if (task.getDueAt() != null && task.getDueAt().isAfter(after) && !Boolean.TRUE.equals(task.getCompleted())) {
+                action.accept(task.getId(), task.getDueAt());
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.logging.RingBufferAppenderMetrics;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup: @Timed support, guards that keep tag cardinality within the documented budget,
+ * and the async logging buffer metrics
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${metrics.maxUriTags:100}")
+    private int maxUriTags;
+
+    @Value("${metrics.maxClientMethodTags:50}")
+    private int maxClientMethodTags;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Unmatched paths are already tagged UNKNOWN; this caps templated URIs in case a mapping misbehaves
+     */
+    @Bean
+    public MeterFilter httpServerUriCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter upstreamClientCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("upstream.client", "method", maxClientMethodTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public RingBufferAppenderMetrics ringBufferAppenderMetrics() {
+        return new RingBufferAppenderMetrics();
+    }
+}
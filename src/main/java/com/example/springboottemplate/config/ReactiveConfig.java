@@ -0,0 +1,84 @@
+package com.example.springboottemplate.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+
+/**
+ * Reactive mode: the tasks API on WebFlux and Netty, backed by R2DBC.
+ * The Netty server runs on the same global event loops as the upstream WebClient, so one small
+ * pool serves inbound requests, database access and upstream calls.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveConfig.class);
+
+    @Value("${reactive.r2dbc.url:r2dbc:h2:mem:///taskdb}")
+    private String url;
+
+    @Value("${reactive.r2dbc.username:sa}")
+    private String username;
+
+    @Value("${reactive.r2dbc.password:}")
+    private String password;
+
+    @Value("${reactive.r2dbc.pool.initialSize:2}")
+    private int poolInitialSize;
+
+    @Value("${reactive.r2dbc.pool.maxSize:10}")
+    private int poolMaxSize;
+
+    @Value("${reactive.r2dbc.pool.maxIdleTime:1800}")
+    private long poolMaxIdleSeconds;
+
+    /**
+     * Declared explicitly: with Tomcat on the classpath Spring Boot would pick it for reactive applications too
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        logger.info("Configuring R2DBC pool - URL: {}, Initial size: {}, Max size: {}", url, poolInitialSize, poolMaxSize);
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(poolInitialSize)
+                .maxSize(poolMaxSize)
+                .maxIdleTime(Duration.ofSeconds(poolMaxIdleSeconds))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Transactions for the reactive task service. The R2DBC transaction manager is deliberately not a bean:
+     * a second transaction manager would make {@code @Transactional} on the JPA services ambiguous.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -1,17 +1,46 @@
 package com.example.springboottemplate.config;
 
+import com.example.springboottemplate.security.BearerTokenAuthenticationFilter;
+import com.example.springboottemplate.security.BearerTokenWebFilter;
+import com.example.springboottemplate.security.CachingAuthenticationProvider;
+import com.example.springboottemplate.security.CorsPolicy;
+import com.example.springboottemplate.security.CorsPolicyFilter;
+import com.example.springboottemplate.security.CorsPolicyWebFilter;
+import com.example.springboottemplate.security.TimedSecurityFilter;
+import com.example.springboottemplate.security.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.web.cors.CorsConfiguration;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
@@ -19,29 +48,53 @@ import java.util.List;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
+/**
+ * Security for both web stacks: Spring Boot enables web or WebFlux security depending on the application type,
+ * and the matching filter chain below is created with the same users, tokens and CORS policy
+ */
 @Configuration
-@EnableWebSecurity
 @RequiredArgsConstructor
 @EnableMethodSecurity
 public class SecurityConfiguration {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfiguration.class);
 
     private static final Long MAX_AGE = 3600L;
     
     @Value("#{'${cors.allowed.origins:*}'.split(',')}")
     private List<String> allowedOrigins;
 
+    @Value("${security.token.enabled:true}")
+    private boolean tokenEnabled;
+
+    @Value("${security.basic.cache.enabled:false}")
+    private boolean basicCacheEnabled;
+
+    @Value("${security.basic.cache.ttl:300}")
+    private long basicCacheTtlSeconds;
+
+    @Value("${security.basic.cache.maxEntries:1000}")
+    private int basicCacheMaxEntries;
+
+    @Value("${security.filter.timing.enabled:false}")
+    private boolean filterTimingEnabled;
+
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http.csrf(AbstractHttpConfigurer::disable)
-                .cors(cors -> cors.configurationSource(request -> {
-                    CorsConfiguration configuration = new CorsConfiguration();
-                    configuration.setAllowedOriginPatterns(allowedOrigins);
-                    configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-                    configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With"));
-                    configuration.setAllowCredentials(true);
-                    configuration.setMaxAge(MAX_AGE);
-                    return configuration;
-                }))
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                                   CorsPolicy corsPolicy) throws Exception {
+        if (tokenEnabled) {
+            // Bearer tokens are verified with one HMAC before Basic auth would hash a password
+            http.addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class);
+        }
+        http.authenticationManager(authenticationManager)
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                // CORS is handled by a single precomputed policy instead of a per-request CorsConfiguration
+                .cors(AbstractHttpConfigurer::disable)
+                .addFilterAt(new CorsPolicyFilter(corsPolicy), CorsFilter.class)
                 .authorizeHttpRequests(request ->
                         request
                                 .requestMatchers(
@@ -51,32 +104,112 @@ public class SecurityConfiguration {
                                         "/h2-console/**",
                                         "/actuator/**"
                                 ).permitAll()
-                                // Allow all requests to the tasks API for this template
+                                .requestMatchers(HttpMethod.POST, "/auth/token").permitAll()
+                                // Allow all requests to the tasks and posts APIs for this template
                                 .requestMatchers("/tasks/**").permitAll()
+                                .requestMatchers("/posts/**").permitAll()
                                 .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
                 // Disable frame options to allow H2 console to work
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
 
-        return http.build();
+        DefaultSecurityFilterChain chain = http.build();
+        return filterTimingEnabled ? timed(chain) : chain;
+    }
+
+    /**
+     * Filter chain of the reactive profile, with the same rules as the servlet chain
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager reactiveAuthenticationManager,
+                                                         CorsPolicy corsPolicy) {
+        if (tokenEnabled) {
+            http.addFilterBefore(new BearerTokenWebFilter(tokenService), SecurityWebFiltersOrder.HTTP_BASIC);
+        }
+        return http.httpBasic(basic -> basic.authenticationManager(reactiveAuthenticationManager))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .cors(ServerHttpSecurity.CorsSpec::disable)
+                .addFilterAt(new CorsPolicyWebFilter(corsPolicy), SecurityWebFiltersOrder.CORS)
+                .authorizeExchange(exchange ->
+                        exchange
+                                .pathMatchers("/actuator/**").permitAll()
+                                .pathMatchers(HttpMethod.POST, "/auth/token").permitAll()
+                                .pathMatchers("/tasks/**", "/posts/**").permitAll()
+                                .anyExchange().authenticated())
+                // Stateless, like the servlet chain: no WebSession is created or read
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .build();
+    }
+
+    /**
+     * Basic auth for the reactive chain; the adapter runs the blocking password check off the event loop
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(AuthenticationManager authenticationManager) {
+        return new ReactiveAuthenticationManagerAdapter(authenticationManager);
     }
 
     @Bean
-    public CorsFilter corsFilter() {
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        CorsConfiguration config = new CorsConfiguration();
-        config.setAllowCredentials(true);
-        config.setAllowedOriginPatterns(allowedOrigins);
-        config.addAllowedHeader("*");
-        config.setAllowedMethods(Arrays.asList(
-                HttpMethod.OPTIONS.name(),
-                HttpMethod.GET.name(),
-                HttpMethod.POST.name(),
-                HttpMethod.PUT.name(),
-                HttpMethod.DELETE.name(),
-                HttpMethod.PATCH.name()));
-        config.setMaxAge(MAX_AGE);
-        source.registerCorsConfiguration("/**", config);
-        return new CorsFilter(source);
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    @Bean
+    public UserDetailsService userDetailsService(SecurityProperties securityProperties) {
+        SecurityProperties.User user = securityProperties.getUser();
+        String password = user.getPassword();
+        // This bean replaces Spring Boot's, which would otherwise print the random per-start password
+        if (user.isPasswordGenerated()) {
+            logger.warn("Using generated security password: {} (set SPRING_SECURITY_USER_PASSWORD to choose one)", password);
+        }
+        // Same convention as Spring Boot's default user: unprefixed passwords are plain text
+        if (!password.startsWith("{")) {
+            password = "{noop}" + password;
+        }
+        return new InMemoryUserDetailsManager(User.withUsername(user.getName())
+                .password(password)
+                .roles(user.getRoles().toArray(new String[0]))
+                .build());
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        daoProvider.setUserDetailsService(userDetailsService);
+        AuthenticationProvider provider = basicCacheEnabled
+                ? new CachingAuthenticationProvider(daoProvider, basicCacheTtlSeconds, basicCacheMaxEntries, meterRegistry)
+                : daoProvider;
+        return new ProviderManager(provider);
+    }
+
+    @Bean
+    public CorsPolicy corsPolicy() {
+        return new CorsPolicy(
+                allowedOrigins,
+                Arrays.asList(
+                        HttpMethod.GET.name(),
+                        HttpMethod.POST.name(),
+                        HttpMethod.PUT.name(),
+                        HttpMethod.DELETE.name(),
+                        HttpMethod.PATCH.name(),
+                        HttpMethod.OPTIONS.name()),
+                Arrays.asList("Authorization", "Content-Type", "X-Requested-With"),
+                true,
+                MAX_AGE);
+    }
+
+    /**
+     * Wrap every filter of the chain so its self time is recorded under {@code security.filter}
+     */
+    private SecurityFilterChain timed(DefaultSecurityFilterChain chain) {
+        List<Filter> filters = chain.getFilters().stream()
+                .map(filter -> (Filter) new TimedSecurityFilter(filter, meterRegistry))
+                .toList();
+        return new DefaultSecurityFilterChain(chain.getRequestMatcher(), filters);
     }
 }
@@ -0,0 +1,46 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.monitoring.ServerTimingFilter;
+import com.example.springboottemplate.monitoring.ServerTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Server-Timing instrumentation for the tasks API: a sampling filter ahead of every other filter
+ * and a handler interceptor; SQL is timed by the DataSource wrapper of {@link DataSourceInstrumentationConfig}
+ */
+@Configuration
+@ConditionalOnProperty(name = "timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingConfig.class);
+
+    private static final String[] TIMED_PATHS = {"/tasks", "/tasks/**"};
+
+    @Value("${timing.sampleRate:0.01}")
+    private double sampleRate;
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(MeterRegistry meterRegistry) {
+        logger.info("Server-Timing enabled for /tasks - Sample rate: {}", sampleRate);
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry, sampleRate));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        // First filter, so the filters phase covers admission control and the security chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor()).addPathPatterns(TIMED_PATHS);
+    }
+}
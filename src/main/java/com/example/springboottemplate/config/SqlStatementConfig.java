@@ -0,0 +1,75 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.monitoring.StatementBudgetFilter;
+import com.example.springboottemplate.monitoring.StatementType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request statement counting for the tasks API, checked against a statement budget
+ * and per-endpoint expectations
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.statements.enabled", havingValue = "true")
+public class SqlStatementConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementConfig.class);
+
+    @Value("${sql.statements.requestBudget:10}")
+    private int requestBudget;
+
+    @Value("${sql.statements.expectations:}")
+    private String expectations;
+
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(MeterRegistry meterRegistry) {
+        Map<String, Map<StatementType, StatementBudgetFilter.Expected>> parsed = parseExpectations(expectations);
+        logger.info("SQL statement counting enabled for /tasks - Request budget: {}, Expectations: {}",
+                requestBudget, parsed);
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(meterRegistry, requestBudget, parsed));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * Parse {@code METHOD /path:TYPE=n,TYPE<=n;METHOD /path:TYPE=n}, where {@code <=} is an upper bound
+     */
+    static Map<String, Map<StatementType, StatementBudgetFilter.Expected>> parseExpectations(String value) {
+        Map<String, Map<StatementType, StatementBudgetFilter.Expected>> result = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String entry : value.split(";")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Invalid sql.statements.expectations entry: " + entry);
+            }
+            Map<StatementType, StatementBudgetFilter.Expected> counts = new EnumMap<>(StatementType.class);
+            for (String count : entry.substring(colon + 1).split(",")) {
+                String[] parts = count.split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid sql.statements.expectations count: " + count);
+                }
+                boolean atMost = parts[0].endsWith("<");
+                String type = atMost ? parts[0].substring(0, parts[0].length() - 1) : parts[0];
+                counts.put(StatementType.valueOf(type.trim().toUpperCase(Locale.ROOT)),
+                        new StatementBudgetFilter.Expected(Integer.parseInt(parts[1].trim()), atMost));
+            }
+            result.put(entry.substring(0, colon).trim(), counts);
+        }
+        return result;
+    }
+}
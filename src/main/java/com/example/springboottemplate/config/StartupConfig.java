@@ -0,0 +1,76 @@
+package com.example.springboottemplate.config;
+
+import com.example.springboottemplate.startup.LazyInitializationPostProcessor;
+import com.example.springboottemplate.startup.WarmupRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Startup tuning: selective lazy initialization of non-critical beans and the JIT warmup before readiness
+ * (see "Fast Startup" and "JIT Warmup" in the README)
+ */
+@Configuration
+public class StartupConfig {
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Value("${warmup.tasks:20}")
+    private int warmupTasks;
+
+    @Value("${warmup.concurrency:4}")
+    private int warmupConcurrency;
+
+    @Value("${warmup.roundSize:200}")
+    private int warmupRoundSize;
+
+    @Value("${warmup.minRounds:5}")
+    private int warmupMinRounds;
+
+    @Value("${warmup.maxRounds:100}")
+    private int warmupMaxRounds;
+
+    @Value("${warmup.stableRounds:3}")
+    private int warmupStableRounds;
+
+    @Value("${warmup.tolerance:0.1}")
+    private double warmupTolerance;
+
+    @Value("${warmup.timeout:60}")
+    private long warmupTimeoutSeconds;
+
+    /**
+     * Registered unconditionally and switched by {@code startup.lazy.enabled} at runtime, because conditions
+     * on beans are frozen when the build runs AOT processing
+     */
+    @Bean
+    public static LazyInitializationPostProcessor lazyInitializationPostProcessor(Environment environment) {
+        return new LazyInitializationPostProcessor(
+                environment.getProperty("startup.lazy.enabled", Boolean.class, false),
+                List.of(environment.getProperty("startup.lazy.packages", String[].class, new String[]{"org.springdoc"})));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+    public WarmupRunner warmupRunner(Environment environment, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        logger.info("JIT warmup enabled - Rounds: {}-{} of {} requests, Stable rounds: {}, Tolerance: {}, Timeout: {}s",
+                warmupMinRounds, warmupMaxRounds, warmupRoundSize, warmupStableRounds, warmupTolerance, warmupTimeoutSeconds);
+        return new WarmupRunner(environment, objectMapper, meterRegistry, new WarmupRunner.Settings(
+                Math.max(1, warmupTasks),
+                Math.max(1, warmupConcurrency),
+                Math.max(1, warmupRoundSize),
+                warmupMinRounds,
+                warmupMaxRounds,
+                Math.max(2, warmupStableRounds),
+                warmupTolerance,
+                Duration.ofSeconds(warmupTimeoutSeconds)));
+    }
+}
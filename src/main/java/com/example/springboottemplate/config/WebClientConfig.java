@@ -1,6 +1,8 @@
 package com.example.springboottemplate.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.slf4j.Logger;
@@ -8,20 +10,33 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
 import reactor.util.retry.Retry;
+import com.example.springboottemplate.cache.UpstreamResponseCache;
+import com.example.springboottemplate.client.AdaptiveTimeoutPolicy;
+import com.example.springboottemplate.client.LatencyTracker;
 import com.example.springboottemplate.exception.ServerErrorException;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Configuration
 public class WebClientConfig {
@@ -51,7 +66,7 @@ public class WebClientConfig {
     @Value("${webclient.retry.maxBackoff:30}")
     private int maxBackoffSeconds;
 
-    private ExchangeFilterFunction retryFilter(int maxRetries) {
+    private ExchangeFilterFunction retryFilter(int maxRetries, MeterRegistry meterRegistry) {
         return (request, next) ->
                 next.exchange(request)
                         .flatMap(clientResponse -> {
@@ -80,6 +95,9 @@ public class WebClientConfig {
                                 .jitter(0.1) // Add jitter to avoid thundering herd
                                 .filter(this::shouldRetry)
                                 .doBeforeRetry(retrySignal -> {
+                                    meterRegistry.counter("upstream.client.retries",
+                                            "method", endpointOf(request),
+                                            "reason", retrySignal.failure().getClass().getSimpleName()).increment();
                                     // Calculate backoff delay based on attempt number
                                     long attemptNumber = retrySignal.totalRetries() + 1;
                                     long delayMs = Duration.ofSeconds(initialBackoffSeconds)
@@ -102,10 +120,113 @@ public class WebClientConfig {
                                 }));
     }
 
+    /**
+     * Records per-attempt latency for requests tagged with an endpoint attribute, once per attempt: on the response,
+     * on a response timeout or when the attempt is cancelled
+     */
+    private ExchangeFilterFunction latencyFilter(LatencyTracker latencyTracker) {
+        return (request, next) -> {
+            Object endpoint = request.attribute(LatencyTracker.ENDPOINT_ATTRIBUTE).orElse(null);
+            if (endpoint == null) {
+                return next.exchange(request);
+            }
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                AtomicBoolean recorded = new AtomicBoolean();
+                Runnable record = () -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        latencyTracker.record(endpoint.toString(), System.nanoTime() - start);
+                    }
+                };
+                return next.exchange(request)
+                        .doOnNext(response -> record.run())
+                        // Timed-out attempts are recorded too, otherwise adaptive timeouts could never grow back
+                        .doOnError(throwable -> {
+                            if (isSocketTimeout(throwable)) {
+                                record.run();
+                            }
+                        })
+                        // Hedge losers are cancelled and are the slow attempts; their time so far is a lower bound of
+                        // their latency, and leaving them out would pull the percentiles, hedge delay and timeouts down
+                        .doOnCancel(record);
+            });
+        };
+    }
+
+    /**
+     * Counts every attempt (retries and hedges included) by status class as {@code upstream.client.attempts}
+     */
+    private ExchangeFilterFunction attemptMetricsFilter(MeterRegistry meterRegistry) {
+        return (request, next) -> next.exchange(request)
+                .doOnNext(response -> meterRegistry.counter("upstream.client.attempts",
+                        "method", endpointOf(request),
+                        "status", (response.statusCode().value() / 100) + "xx").increment())
+                .doOnError(throwable -> meterRegistry.counter("upstream.client.attempts",
+                        "method", endpointOf(request),
+                        "status", isSocketTimeout(throwable) ? "TIMEOUT" : "IO_ERROR").increment());
+    }
+
+    private static String endpointOf(ClientRequest request) {
+        return request.attribute(LatencyTracker.ENDPOINT_ATTRIBUTE).map(Object::toString).orElse("none");
+    }
+
+    /**
+     * Applies the adaptive per-endpoint response timeout to requests tagged with an endpoint attribute
+     */
+    private ExchangeFilterFunction adaptiveTimeoutFilter(AdaptiveTimeoutPolicy adaptiveTimeoutPolicy) {
+        return (request, next) -> {
+            Object endpoint = request.attribute(LatencyTracker.ENDPOINT_ATTRIBUTE).orElse(null);
+            if (endpoint == null || !adaptiveTimeoutPolicy.isEnabled()) {
+                return next.exchange(request);
+            }
+            Duration timeout = adaptiveTimeoutPolicy.responseTimeout(endpoint.toString());
+            ClientRequest timedRequest = ClientRequest.from(request)
+                    .httpRequest(httpRequest -> {
+                        HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+                        nativeRequest.responseTimeout(timeout);
+                    })
+                    .build();
+            return next.exchange(timedRequest);
+        };
+    }
+
+    /**
+     * Serves successful upstream GET responses from the two-tier response cache, keyed by request URL
+     */
+    private ExchangeFilterFunction cacheFilter(UpstreamResponseCache cache, ExchangeStrategies strategies) {
+        return (request, next) -> {
+            if (!cache.isEnabled() || request.method() != HttpMethod.GET) {
+                return next.exchange(request);
+            }
+            String key = request.url().toString();
+            byte[] cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(cached)))
+                        .build());
+            }
+            return next.exchange(request)
+                    .flatMap(response -> {
+                        if (response.statusCode().value() != HttpStatus.OK.value()) {
+                            return Mono.just(response);
+                        }
+                        return response.bodyToMono(byte[].class)
+                                .defaultIfEmpty(new byte[0])
+                                .map(body -> {
+                                    cache.put(key, body);
+                                    return response.mutate()
+                                            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                                            .build();
+                                });
+                    });
+        };
+    }
+
     /**
      * Determines if retry should be attempted based on error type
      */
-    private boolean shouldRetry(Throwable throwable) {
+    boolean shouldRetry(Throwable throwable) {
         // Server errors
         if (throwable instanceof ServerErrorException) {
             logger.debug("Server error detected, will retry");
@@ -153,15 +274,17 @@ public class WebClientConfig {
             }
         }
         
-        logger.debug("Error not eligible for retry: {} - {}", 
-                throwable.getClass().getSimpleName(), throwable.getMessage());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Error not eligible for retry: {} - {}", 
+                    throwable.getClass().getSimpleName(), throwable.getMessage());
+        }
         return false;
     }
 
     /**
      * Checks if the error is a "Connection reset" - Enhanced to detect specific Netty error
      */
-    private boolean isConnectionReset(Throwable throwable) {
+    boolean isConnectionReset(Throwable throwable) {
         // Direct message check
         String message = throwable.getMessage();
         if (message != null && message.contains("Connection reset by peer")) {
@@ -215,6 +338,9 @@ public class WebClientConfig {
         return (throwable instanceof java.net.SocketTimeoutException) ||
                 (throwable instanceof WebClientRequestException &&
                         throwable.getCause() instanceof java.net.SocketTimeoutException) ||
+                // Response timeouts (static or adaptive) surface as Netty ReadTimeoutException
+                (throwable instanceof WebClientRequestException &&
+                        throwable.getCause() instanceof ReadTimeoutException) ||
                 (throwable instanceof TimeoutException);
     }
     
@@ -241,7 +367,9 @@ public class WebClientConfig {
     }
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    public WebClient webClient(WebClient.Builder builder, LatencyTracker latencyTracker,
+                               AdaptiveTimeoutPolicy adaptiveTimeoutPolicy, UpstreamResponseCache upstreamResponseCache,
+                               MeterRegistry meterRegistry) {
         logger.info("Configuring WebClient with timeouts - Connect: {}ms, Response: {}s, Read: {}s, Write: {}s, MaxRetries: {}", 
                 connectTimeoutMillis, responseTimeoutSeconds, readTimeoutSeconds, writeTimeoutSeconds, maxRetries);
         
@@ -267,7 +395,15 @@ public class WebClientConfig {
         return builder
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(strategies)
-                .filter(retryFilter(maxRetries))
+                // Two-tier response cache, outermost so hits skip retries, timeouts and latency tracking
+                .filter(cacheFilter(upstreamResponseCache, strategies))
+                .filter(retryFilter(maxRetries, meterRegistry))
+                // Adaptive response timeout per attempt; the static responseTimeout remains the fallback
+                .filter(adaptiveTimeoutFilter(adaptiveTimeoutPolicy))
+                // Per-attempt latency tracking, inside the retry filter
+                .filter(latencyFilter(latencyTracker))
+                // Per-attempt status class counters
+                .filter(attemptMetricsFilter(meterRegistry))
                 // Add optional logging filter
                 .filter(loggingFilter())
                 .build();
@@ -277,9 +413,12 @@ public class WebClientConfig {
      * Optional logging filter for requests/responses
      */
     private ExchangeFilterFunction loggingFilter() {
-        return ExchangeFilterFunction.ofRequestProcessor(clientRequest -> {
-            logger.debug("Request: {} {}", clientRequest.method(), clientRequest.url());
-            return Mono.just(clientRequest);
-        });
+        return (clientRequest, next) -> {
+            // Checked per request so the level can still be changed at runtime; costs nothing more while disabled
+            if (logger.isDebugEnabled()) {
+                logger.debug("Request: {} {}", clientRequest.method(), clientRequest.url());
+            }
+            return next.exchange(clientRequest);
+        };
     }
 }
@@ -0,0 +1,54 @@
+package com.example.springboottemplate.controller;
+
+import com.example.springboottemplate.dto.TokenRequest;
+import com.example.springboottemplate.dto.TokenResponse;
+import com.example.springboottemplate.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller issuing signed bearer tokens
+ */
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Bearer token API")
+public class AuthController {
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @PostMapping("/token")
+    @Operation(summary = "Issue a token", description = "Exchange a username and password for an expiring bearer token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token issued"),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public ResponseEntity<TokenResponse> issueToken(@Valid @RequestBody TokenRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        TokenResponse response = TokenResponse.builder()
+                .accessToken(tokenService.issue(authentication))
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(tokenService.getTtl().toSeconds())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.springboottemplate.controller;
+
+import com.example.springboottemplate.client.JsonPlaceholderApiClient;
+import com.example.springboottemplate.dto.JsonPlaceholderPostDetailDto;
+import com.example.springboottemplate.exception.BadRequestException;
+import com.example.springboottemplate.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller aggregating JSONPlaceholder posts with their authors and comments
+ */
+@RestController
+@RequestMapping("/posts")
+@Tag(name = "Posts", description = "JSONPlaceholder post aggregation API")
+public class PostController {
+
+    private final JsonPlaceholderApiClient apiClient;
+    private final int maxPosts;
+
+    public PostController(JsonPlaceholderApiClient apiClient,
+                          @Value("${api.jsonplaceholder.aggregation.maxPosts:100}") int maxPosts) {
+        this.apiClient = apiClient;
+        this.maxPosts = maxPosts;
+    }
+
+    @GetMapping("/{id}/details")
+    @Operation(summary = "Get a post detail", description = "Retrieve a post together with its author and comments")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Post detail found"),
+            @ApiResponse(responseCode = "404", description = "Post not found",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public Mono<ResponseEntity<JsonPlaceholderPostDetailDto>> getPostDetail(
+            @Parameter(description = "Post ID", required = true)
+            @PathVariable Long id
+    ) {
+        return apiClient.getPostDetail(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Post", "id", id)))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/details")
+    @Operation(summary = "Get post details", description = "Retrieve several posts with their authors and comments, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Post details retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many post IDs",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public Mono<ResponseEntity<List<JsonPlaceholderPostDetailDto>>> getPostDetails(
+            @Parameter(description = "Comma-separated post IDs", required = true)
+            @RequestParam List<Long> ids
+    ) {
+        if (ids.size() > maxPosts) {
+            throw new BadRequestException(String.format("At most %d post IDs are allowed per request", maxPosts));
+        }
+        return apiClient.getPostDetails(ids)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.springboottemplate.controller;
+
+import com.example.springboottemplate.dto.SparseTaskDto;
+import com.example.springboottemplate.dto.TaskCreateRequest;
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupRequest;
+import com.example.springboottemplate.dto.TaskLookupResponse;
+import com.example.springboottemplate.dto.TaskUpdateRequest;
+import com.example.springboottemplate.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller for Task operations in the reactive profile; same API as {@link TaskController}
+ */
+@RestController
+@RequestMapping("/tasks")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Tag(name = "Tasks", description = "Task management API")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    @GetMapping
+    @Operation(summary = "Get all tasks", description = "Retrieve a list of all tasks with pagination")
+    public Mono<ResponseEntity<Page<TaskDto>>> getAllTasks(
+            @Parameter(description = "Page number (zero-based)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Sort field")
+            @RequestParam(defaultValue = "id") String sort,
+
+            @Parameter(description = "Sort direction (asc or desc)")
+            @RequestParam(defaultValue = "asc") String direction
+    ) {
+        Pageable pageable = pageable(page, size, sort, direction);
+        return taskService.getAllTasks(pageable)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get all tasks with selected fields", description = "Like GET /tasks, returning only the requested fields; id is always included")
+    public Mono<ResponseEntity<Page<SparseTaskDto>>> getAllTaskFields(
+            @Parameter(description = "Page number (zero-based)")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Sort field")
+            @RequestParam(defaultValue = "id") String sort,
+
+            @Parameter(description = "Sort direction (asc or desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+
+            @Parameter(description = "Comma-separated fields, e.g. title,completed", required = true)
+            @RequestParam String fields
+    ) {
+        Pageable pageable = pageable(page, size, sort, direction);
+        return taskService.getAllTasks(pageable, TaskField.parse(fields))
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get tasks by IDs", description = "Retrieve several tasks in request order; IDs without a task are listed as missing")
+    public Mono<ResponseEntity<TaskLookupResponse>> getTasksByIds(
+            @Parameter(description = "Comma-separated task IDs", required = true)
+            @RequestParam List<Long> ids
+    ) {
+        return taskService.lookupTasks(ids)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up tasks by IDs", description = "Same as GET /tasks?ids=..., for ID lists too long for a URL")
+    public Mono<ResponseEntity<TaskLookupResponse>> lookupTasks(
+            @Parameter(description = "Task IDs", required = true)
+            @Valid @RequestBody TaskLookupRequest request
+    ) {
+        return taskService.lookupTasks(request.getIds())
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a task by ID", description = "Retrieve a specific task by its ID")
+    public Mono<ResponseEntity<TaskDto>> getTaskById(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id
+    ) {
+        return taskService.getTaskById(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get a task by ID with selected fields", description = "Like GET /tasks/{id}, returning only the requested fields; id is always included")
+    public Mono<ResponseEntity<SparseTaskDto>> getTaskFieldsById(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id,
+
+            @Parameter(description = "Comma-separated fields, e.g. title,completed", required = true)
+            @RequestParam String fields
+    ) {
+        return taskService.getTaskById(id, TaskField.parse(fields))
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new task", description = "Create a new task with the provided data")
+    public Mono<ResponseEntity<TaskDto>> createTask(
+            @Parameter(description = "Task data", required = true)
+            @Valid @RequestBody TaskCreateRequest request
+    ) {
+        return taskService.createTask(request)
+                .map(createdTask -> new ResponseEntity<>(createdTask, HttpStatus.CREATED));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Update a task", description = "Update an existing task with the provided data")
+    public Mono<ResponseEntity<TaskDto>> updateTask(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id,
+
+            @Parameter(description = "Task data", required = true)
+            @Valid @RequestBody TaskUpdateRequest request
+    ) {
+        return taskService.updateTask(id, request)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a task", description = "Delete a task by its ID")
+    public Mono<ResponseEntity<Void>> deleteTask(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id
+    ) {
+        return taskService.deleteTask(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    private static Pageable pageable(int page, int size, String sort, String direction) {
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        return PageRequest.of(page, size, Sort.by(sortDirection, sort));
+    }
+}
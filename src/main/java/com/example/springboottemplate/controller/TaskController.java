@@ -1,9 +1,14 @@
 package com.example.springboottemplate.controller;
 
+import com.example.springboottemplate.dto.SparseTaskDto;
 import com.example.springboottemplate.dto.TaskCreateRequest;
 import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupRequest;
+import com.example.springboottemplate.dto.TaskLookupResponse;
 import com.example.springboottemplate.dto.TaskUpdateRequest;
 import com.example.springboottemplate.service.TaskService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,13 +27,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for Task operations
  */
 @RestController
 @RequestMapping("/tasks")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Tag(name = "Tasks", description = "Task management API")
+@Timed(value = "tasks.api", histogram = true)
 public class TaskController {
 
     private final TaskService taskService;
@@ -50,12 +60,69 @@ public class TaskController {
             @Parameter(description = "Sort direction (asc or desc)")
             @RequestParam(defaultValue = "asc") String direction
     ) {
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = pageable(page, size, sort, direction);
         Page<TaskDto> tasks = taskService.getAllTasks(pageable);
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get all tasks with selected fields", description = "Like GET /tasks, returning only the requested fields; id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public ResponseEntity<Page<SparseTaskDto>> getAllTaskFields(
+            @Parameter(description = "Page number (zero-based)")
+            @RequestParam(defaultValue = "0") int page,
+            
+            @Parameter(description = "Number of items per page")
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Sort field")
+            @RequestParam(defaultValue = "id") String sort,
+            
+            @Parameter(description = "Sort direction (asc or desc)")
+            @RequestParam(defaultValue = "asc") String direction,
+            
+            @Parameter(description = "Comma-separated fields, e.g. title,completed", required = true)
+            @RequestParam String fields
+    ) {
+        Pageable pageable = pageable(page, size, sort, direction);
+        Page<SparseTaskDto> tasks = taskService.getAllTasks(pageable, TaskField.parse(fields));
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get tasks by IDs", description = "Retrieve several tasks in request order; IDs without a task are listed as missing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many task IDs",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public ResponseEntity<TaskLookupResponse> getTasksByIds(
+            @Parameter(description = "Comma-separated task IDs", required = true)
+            @RequestParam List<Long> ids
+    ) {
+        TaskLookupResponse tasks = taskService.lookupTasks(ids);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up tasks by IDs", description = "Same as GET /tasks?ids=..., for ID lists too long for a URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many task IDs",
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public ResponseEntity<TaskLookupResponse> lookupTasks(
+            @Parameter(description = "Task IDs", required = true)
+            @Valid @RequestBody TaskLookupRequest request
+    ) {
+        TaskLookupResponse tasks = taskService.lookupTasks(request.getIds());
+        return ResponseEntity.ok(tasks);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a task by ID", description = "Retrieve a specific task by its ID")
     @ApiResponses(value = {
@@ -71,6 +138,26 @@ public class TaskController {
         return ResponseEntity.ok(task);
     }
 
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get a task by ID with selected fields", description = "Like GET /tasks/{id}, returning only the requested fields; id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "400", description = "Unknown field",
+                    content = @Content(schema = @Schema(implementation = Object.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found", 
+                    content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public ResponseEntity<SparseTaskDto> getTaskFieldsById(
+            @Parameter(description = "Task ID", required = true)
+            @PathVariable Long id,
+            
+            @Parameter(description = "Comma-separated fields, e.g. title,completed", required = true)
+            @RequestParam String fields
+    ) {
+        SparseTaskDto task = taskService.getTaskById(id, TaskField.parse(fields));
+        return ResponseEntity.ok(task);
+    }
+
     @PostMapping
     @Operation(summary = "Create a new task", description = "Create a new task with the provided data")
     @ApiResponses(value = {
@@ -120,4 +207,9 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static Pageable pageable(int page, int size, String sort, String direction) {
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        return PageRequest.of(page, size, Sort.by(sortDirection, sort));
+    }
 }
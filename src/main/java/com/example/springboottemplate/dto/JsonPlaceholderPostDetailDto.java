@@ -0,0 +1,21 @@
+package com.example.springboottemplate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO aggregating a JSONPlaceholder post with its author and comments
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JsonPlaceholderPostDetailDto {
+    private JsonPlaceholderPostDto post;
+    private JsonPlaceholderUserDto author;
+    private List<JsonPlaceholderCommentDto> comments;
+}
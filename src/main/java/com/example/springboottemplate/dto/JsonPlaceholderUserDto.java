@@ -39,8 +39,9 @@ public class JsonPlaceholderUserDto {
         @NoArgsConstructor
         @AllArgsConstructor
         public static class Geo {
-            private String lat;
-            private String lng;
+            // Upstream sends coordinates as strings; they are parsed into primitives on decode
+            private double lat;
+            private double lng;
         }
     }
     
@@ -0,0 +1,20 @@
+package com.example.springboottemplate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary view of a JSONPlaceholder User (id, name and email only)
+ * https://jsonplaceholder.typicode.com/users
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JsonPlaceholderUserSummaryDto {
+    private Long id;
+    private String name;
+    private String email;
+}
@@ -0,0 +1,65 @@
+package com.example.springboottemplate.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Task response restricted to a sparse fieldset.
+ * Holds the selected fields and their values as loaded by a projection query, and serializes exactly those fields
+ * in the same JSON form as {@link TaskDto}.
+ */
+@JsonSerialize(using = SparseTaskDto.Serializer.class)
+public final class SparseTaskDto {
+
+    private final List<TaskField> fields;
+    private final Object[] values;
+
+    /**
+     * @param fields Selected fields
+     * @param values Values in the order of {@code fields}
+     */
+    public SparseTaskDto(List<TaskField> fields, Object[] values) {
+        if (fields.size() != values.length) {
+            throw new IllegalArgumentException("Expected " + fields.size() + " values, got " + values.length);
+        }
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Restrict a full task DTO to the selected fields
+     */
+    public static SparseTaskDto of(TaskDto task, List<TaskField> fields) {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).valueOf(task);
+        }
+        return new SparseTaskDto(fields, values);
+    }
+
+    public List<TaskField> getFields() {
+        return fields;
+    }
+
+    public static final class Serializer extends StdSerializer<SparseTaskDto> {
+
+        public Serializer() {
+            super(SparseTaskDto.class);
+        }
+
+        @Override
+        public void serialize(SparseTaskDto task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(task);
+            for (int i = 0; i < task.values.length; i++) {
+                // Through the provider so values such as LocalDateTime use the application's configured serializers
+                provider.defaultSerializeField(task.fields.get(i).getProperty(), task.values[i], generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO for creating a new Task
  */
@@ -25,4 +27,6 @@ public class TaskCreateRequest {
     
     @Builder.Default
     private Boolean completed = false;
+
+    private LocalDateTime dueAt;
 }
@@ -19,6 +19,8 @@ public class TaskDto {
     private String title;
     private String description;
     private Boolean completed;
+    private LocalDateTime dueAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,91 @@
+package com.example.springboottemplate.dto;
+
+import com.example.springboottemplate.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Task fields selectable with the {@code fields} parameter of the /tasks read endpoints.
+ * Each field is named like its {@link TaskDto} property and {@code Task} entity attribute, and knows its column.
+ */
+public enum TaskField {
+    ID("id", "id", Long.class),
+    TITLE("title", "title", String.class),
+    DESCRIPTION("description", "description", String.class),
+    COMPLETED("completed", "completed", Boolean.class),
+    DUE_AT("dueAt", "due_at", LocalDateTime.class),
+    CREATED_AT("createdAt", "created_at", LocalDateTime.class),
+    UPDATED_AT("updatedAt", "updated_at", LocalDateTime.class),
+    VERSION("version", "version", Long.class);
+
+    private final String property;
+    private final String column;
+    private final Class<?> type;
+
+    TaskField(String property, String column, Class<?> type) {
+        this.property = property;
+        this.column = column;
+        this.type = type;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Value of this field in a full task DTO
+     */
+    public Object valueOf(TaskDto task) {
+        return switch (this) {
+            case ID -> task.getId();
+            case TITLE -> task.getTitle();
+            case DESCRIPTION -> task.getDescription();
+            case COMPLETED -> task.getCompleted();
+            case DUE_AT -> task.getDueAt();
+            case CREATED_AT -> task.getCreatedAt();
+            case UPDATED_AT -> task.getUpdatedAt();
+            case VERSION -> task.getVersion();
+        };
+    }
+
+    /**
+     * Parse a comma-separated field list such as {@code title,completed}
+     *
+     * @param fields Property names
+     * @return Selected fields in declaration order; {@code id} is always included
+     * @throws BadRequestException For unknown field names
+     */
+    public static List<TaskField> parse(String fields) {
+        Set<TaskField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromProperty(trimmed));
+            }
+        }
+        return List.copyOf(selected);
+    }
+
+    private static TaskField fromProperty(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException(String.format("Unknown task field '%s', allowed fields are %s", property,
+                Arrays.stream(values()).map(TaskField::getProperty).collect(Collectors.joining(", "))));
+    }
+}
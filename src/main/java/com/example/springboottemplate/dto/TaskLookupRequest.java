@@ -0,0 +1,23 @@
+package com.example.springboottemplate.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for looking up several Tasks by ID
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupRequest {
+
+    @NotEmpty(message = "At least one task ID is required")
+    private List<@NotNull(message = "Task IDs cannot be null") Long> ids;
+}
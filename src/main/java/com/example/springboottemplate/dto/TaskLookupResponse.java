@@ -0,0 +1,20 @@
+package com.example.springboottemplate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a multi-get of Tasks: found tasks in request order, and the requested IDs that do not exist
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupResponse {
+    private List<TaskDto> tasks;
+    private List<Long> missingIds;
+}
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO for updating an existing Task
  */
@@ -22,4 +24,11 @@ public class TaskUpdateRequest {
     private String description;
     
     private Boolean completed;
+
+    private LocalDateTime dueAt;
+
+    /**
+     * Remove the due date; {@code dueAt} is ignored when set
+     */
+    private Boolean clearDueAt;
 }
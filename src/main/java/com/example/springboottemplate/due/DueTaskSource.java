@@ -0,0 +1,18 @@
+package com.example.springboottemplate.due;
+
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+
+/**
+ * Storage that {@link TaskDueScheduler} rebuilds its timers from on startup; one implementation per task storage mode
+ */
+@FunctionalInterface
+public interface DueTaskSource {
+    /**
+     * Pass every open task due after a point in time to an action
+     *
+     * @param after Exclusive lower bound of the due dates
+     * @param action Called with the ID and due date of each task
+     */
+    void forEachOpenDueAfter(LocalDateTime after, BiConsumer<Long, LocalDateTime> action);
+}
@@ -0,0 +1,49 @@
+package com.example.springboottemplate.due;
+
+import com.example.springboottemplate.repository.TaskRepository;
+import com.example.springboottemplate.repository.TaskRepository.DueTaskState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Open due tasks from the tasks table. Keyset pagination over (due date, ID), so every batch is a range scan of the
+ * due date index instead of a growing offset.
+ */
+@Component
+@Profile("!memstore")
+public class RepositoryDueTaskSource implements DueTaskSource {
+    private final TaskRepository taskRepository;
+    private final int batchSize;
+
+    public RepositoryDueTaskSource(TaskRepository taskRepository,
+                                   @Value("${tasks.due.rebuildBatchSize:1000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void forEachOpenDueAfter(LocalDateTime after, BiConsumer<Long, LocalDateTime> action) {
+        LocalDateTime afterDueAt = after;
+        long afterId = 0;
+        Pageable batch = PageRequest.ofSize(batchSize);
+        List<DueTaskState> tasks;
+        do {
+            tasks = taskRepository.findOpenDueAfter(afterDueAt, afterId, batch);
+            for (DueTaskState task : tasks) {
+                action.accept(task.getId(), task.getDueAt());
+            }
+            if (!tasks.isEmpty()) {
+                DueTaskState last = tasks.get(tasks.size() - 1);
+                afterDueAt = last.getDueAt();
+                afterId = last.getId();
+            }
+        } while (tasks.size() == batchSize);
+    }
+}
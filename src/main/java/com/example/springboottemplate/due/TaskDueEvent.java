@@ -0,0 +1,33 @@
+package com.example.springboottemplate.due;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Application event published when a task's reminder or due timer fires
+ *
+ * @param taskId Task ID
+ * @param type Reminder ahead of the due date, or the due date itself
+ * @param dueAtMillis Due date the timer was scheduled for, in epoch milliseconds
+ */
+public record TaskDueEvent(long taskId, Type type, long dueAtMillis) {
+
+    public enum Type {
+        /**
+         * {@code tasks.due.reminderLead} before the due date
+         */
+        REMINDER,
+        /**
+         * The due date passed and the task is not completed
+         */
+        OVERDUE
+    }
+
+    /**
+     * Due date in the server time zone, like {@code Task.dueAt}
+     */
+    public LocalDateTime dueAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(dueAtMillis), ZoneId.systemDefault());
+    }
+}
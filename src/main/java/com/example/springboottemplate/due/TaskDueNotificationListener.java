@@ -0,0 +1,33 @@
+package com.example.springboottemplate.due;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Overdue notifications: counts fired timers as {@code tasks.due.events{type}} and logs them.
+ * Add further {@link EventListener}s for {@link TaskDueEvent} to deliver notifications elsewhere; they run on the
+ * timing wheel thread, so anything slow should be handed off.
+ */
+@Component
+public class TaskDueNotificationListener {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueNotificationListener.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public TaskDueNotificationListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onTaskDue(TaskDueEvent event) {
+        meterRegistry.counter("tasks.due.events", "type", event.type().name().toLowerCase()).increment();
+        if (event.type() == TaskDueEvent.Type.OVERDUE) {
+            logger.info("Task {} is overdue since {}", event.taskId(), event.dueAt());
+        } else {
+            logger.info("Task {} is due at {}", event.taskId(), event.dueAt());
+        }
+    }
+}
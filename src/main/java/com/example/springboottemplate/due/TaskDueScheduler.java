@@ -0,0 +1,217 @@
+package com.example.springboottemplate.due;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reminder and overdue timers for open tasks with a due date, kept in a {@link TimingWheel}.
+ * On startup, before the web server accepts requests, the timers are rebuilt from the tasks due after
+ * {@code now - catchUp} in the {@link DueTaskSource} of the active storage mode; tasks that fell due within the catch-up
+ * window while the application was down fire right away. The task services reschedule or cancel a task's timers after each
+ * committed write. A daemon thread advances the wheel every tick and publishes fired timers as {@link TaskDueEvent}s.
+ * The timers are in-memory and per instance; each instance of a cluster fires its own events.
+ */
+@Component
+public class TaskDueScheduler implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueScheduler.class);
+
+    private final DueTaskSource dueTaskSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long reminderLeadMillis;
+    private final long catchUpMillis;
+
+    /**
+     * Guards the wheel and both timer maps
+     */
+    private final Object lock = new Object();
+    private final TimingWheel<TaskDueEvent> wheel;
+    private final Map<Long, TimingWheel.Timer<TaskDueEvent>> overdueTimers = new HashMap<>();
+    private final Map<Long, TimingWheel.Timer<TaskDueEvent>> reminderTimers = new HashMap<>();
+    /**
+     * Events fired by one tick, published after the lock is released; only used by the ticker thread
+     */
+    private final List<TaskDueEvent> fired = new ArrayList<>();
+
+    private volatile Thread ticker;
+
+    public TaskDueScheduler(DueTaskSource dueTaskSource,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.due.enabled:true}") boolean enabled,
+                            @Value("${tasks.due.tickMillis:100}") long tickMillis,
+                            @Value("${tasks.due.wheelSize:256}") int wheelSize,
+                            @Value("${tasks.due.levels:5}") int levels,
+                            @Value("${tasks.due.reminderLead:900}") long reminderLeadSeconds,
+                            @Value("${tasks.due.catchUp:3600}") long catchUpSeconds) {
+        this.dueTaskSource = dueTaskSource;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.reminderLeadMillis = reminderLeadSeconds * 1000;
+        this.catchUpMillis = catchUpSeconds * 1000;
+        this.wheel = new TimingWheel<>(System.currentTimeMillis(), tickMillis, wheelSize, levels);
+
+        Gauge.builder("tasks.due.timers", this, TaskDueScheduler::size)
+                .description("Scheduled task reminder and overdue timers")
+                .register(meterRegistry);
+        logger.info("Task due timers {} - Tick: {}ms, Wheel: {} slots x {} levels, Reminder lead: {}s, Catch-up: {}s",
+                enabled ? "enabled" : "disabled", tickMillis, wheelSize, levels, reminderLeadSeconds, catchUpSeconds);
+    }
+
+    /**
+     * Schedule the timers of a task, replacing any it had; cancels them if the task has no due date or is completed
+     */
+    public void schedule(Long id, LocalDateTime dueAt, Boolean completed) {
+        if (!enabled) {
+            return;
+        }
+        if (dueAt == null || Boolean.TRUE.equals(completed)) {
+            cancel(id);
+            return;
+        }
+        long dueAtMillis = toMillis(dueAt);
+        synchronized (lock) {
+            scheduleLocked(id, dueAtMillis, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Cancel the timers of a task, e.g. after it was deleted
+     */
+    public void cancel(Long id) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            cancelLocked(id);
+        }
+    }
+
+    /**
+     * Number of scheduled timers
+     */
+    public int size() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || ticker != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        int scheduled = rebuild();
+        logger.info("Scheduled due timers for {} open tasks in {} ms", scheduled, (System.nanoTime() - start) / 1_000_000);
+
+        Thread thread = new Thread(this::run, "task-due-wheel");
+        thread.setDaemon(true);
+        ticker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = ticker;
+        if (thread == null) {
+            return;
+        }
+        ticker = null;
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Before the web server starts, so requests never reschedule timers ahead of the rebuild
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private int rebuild() {
+        int[] scheduled = new int[1];
+        long now = System.currentTimeMillis();
+        dueTaskSource.forEachOpenDueAfter(LocalDateTime.now().minusNanos(catchUpMillis * 1_000_000), (id, dueAt) -> {
+            synchronized (lock) {
+                scheduleLocked(id, toMillis(dueAt), now);
+            }
+            scheduled[0]++;
+        });
+        return scheduled[0];
+    }
+
+    private void run() {
+        while (ticker == Thread.currentThread()) {
+            synchronized (lock) {
+                wheel.advance(System.currentTimeMillis(), event -> {
+                    (event.type() == TaskDueEvent.Type.OVERDUE ? overdueTimers : reminderTimers).remove(event.taskId());
+                    fired.add(event);
+                });
+            }
+            for (TaskDueEvent event : fired) {
+                try {
+                    eventPublisher.publishEvent(event);
+                } catch (RuntimeException e) {
+                    logger.error("Task due listener failed for task {}: {}", event.taskId(), e.getMessage(), e);
+                }
+            }
+            fired.clear();
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void scheduleLocked(long id, long dueAtMillis, long now) {
+        cancelLocked(id);
+        overdueTimers.put(id, wheel.schedule(dueAtMillis, new TaskDueEvent(id, TaskDueEvent.Type.OVERDUE, dueAtMillis)));
+        // No reminder once the task is due; one whose lead time already started fires right away
+        if (reminderLeadMillis > 0 && dueAtMillis > now) {
+            reminderTimers.put(id, wheel.schedule(dueAtMillis - reminderLeadMillis,
+                    new TaskDueEvent(id, TaskDueEvent.Type.REMINDER, dueAtMillis)));
+        }
+    }
+
+    private void cancelLocked(long id) {
+        TimingWheel.Timer<TaskDueEvent> overdue = overdueTimers.remove(id);
+        if (overdue != null) {
+            wheel.cancel(overdue);
+        }
+        TimingWheel.Timer<TaskDueEvent> reminder = reminderTimers.remove(id);
+        if (reminder != null) {
+            wheel.cancel(reminder);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
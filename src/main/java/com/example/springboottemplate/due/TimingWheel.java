@@ -0,0 +1,218 @@
+package com.example.springboottemplate.due;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: O(1) schedule and cancel for any number of timers.
+ * Level 0 has {@code wheelSize} slots of one tick each; every level above has slots as wide as the whole level
+ * below, so five levels of 256 slots at 100 ms ticks reach more than 3000 years. Timers sit in a doubly linked
+ * list per slot. When the clock enters a higher-level slot its timers are cascaded down to finer slots, and the
+ * level-0 slot of the current tick fires. Timers never fire early, and fire at most one tick plus the caller's
+ * advance interval late.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ *
+ * @param <T> Payload handed to the expiry callback
+ */
+public final class TimingWheel<T> {
+
+    /**
+     * A scheduled timer; the handle for {@link #cancel}
+     */
+    public static final class Timer<T> {
+        private final long deadlineTick;
+        private final T payload;
+        private Timer<T> previous;
+        private Timer<T> next;
+        /**
+         * Level of the slot holding this timer, {@link #EXPIRED} in the expired list, or {@link #DETACHED}
+         */
+        private int level = DETACHED;
+        private int slot;
+
+        private Timer(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public boolean isScheduled() {
+            return level != DETACHED;
+        }
+    }
+
+    private static final int DETACHED = -2;
+    private static final int EXPIRED = -1;
+
+    private final long startMillis;
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Timer<T>[][] slots;
+    private Timer<T> expired;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param startMillis Time of tick 0
+     * @param tickMillis Resolution
+     * @param wheelSize Slots per level, a power of two
+     * @param levels Number of levels; deadlines beyond the top level are parked in its farthest slot and cascaded again
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startMillis, long tickMillis, int wheelSize, int levels) {
+        if (tickMillis < 1 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1
+                || (long) Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + " ms, "
+                    + wheelSize + " slots, " + levels + " levels");
+        }
+        this.startMillis = startMillis;
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.slots = new Timer[levels][wheelSize];
+    }
+
+    /**
+     * Schedule a timer; deadlines that are already due fire on the next {@link #advance}
+     */
+    public Timer<T> schedule(long deadlineMillis, T payload) {
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = Math.max(0, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        Timer<T> timer = new Timer<>(deadlineTick, payload);
+        add(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancel a scheduled timer
+     *
+     * @return false if it already fired or was cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.level == DETACHED) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the clock forward, firing every timer whose deadline is at or before {@code nowMillis}
+     *
+     * @param expiry Receives the payload of each fired timer
+     * @return Number of fired timers
+     */
+    public int advance(long nowMillis, Consumer<? super T> expiry) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int fired = fireExpired(expiry);
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels && (currentTick & ((1L << (bits * level)) - 1)) == 0; level++) {
+                cascade(level, (int) (currentTick >>> (bits * level)) & mask);
+            }
+            Timer<T>[] level0 = slots[0];
+            int slot = (int) currentTick & mask;
+            Timer<T> timer;
+            // Unlinked one at a time, so the callback may cancel or schedule other timers
+            while ((timer = level0[slot]) != null) {
+                unlink(timer);
+                size--;
+                fired++;
+                expiry.accept(timer.payload);
+            }
+            fired += fireExpired(expiry);
+        }
+        return fired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Time the wheel has advanced to
+     */
+    public long currentMillis() {
+        return startMillis + currentTick * tickMillis;
+    }
+
+    private void add(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            timer.level = EXPIRED;
+            timer.previous = null;
+            timer.next = expired;
+            if (expired != null) {
+                expired.previous = timer;
+            }
+            expired = timer;
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        long slotTick = delta < 1L << (bits * (level + 1))
+                ? timer.deadlineTick
+                : currentTick + (1L << (bits * levels)) - 1;
+        int slot = (int) (slotTick >>> (bits * level)) & mask;
+        timer.level = level;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = slots[level][slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[level][slot] = timer;
+    }
+
+    private void cascade(int level, int slot) {
+        Timer<T> timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            add(timer);
+            timer = next;
+        }
+    }
+
+    private int fireExpired(Consumer<? super T> expiry) {
+        int fired = 0;
+        Timer<T> timer;
+        while ((timer = expired) != null) {
+            unlink(timer);
+            size--;
+            fired++;
+            expiry.accept(timer.payload);
+        }
+        return fired;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else if (timer.level == EXPIRED) {
+            expired = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        detach(timer);
+    }
+
+    private static <T> void detach(Timer<T> timer) {
+        timer.level = DETACHED;
+        timer.previous = null;
+        timer.next = null;
+    }
+}
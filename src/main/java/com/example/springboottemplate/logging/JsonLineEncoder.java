@@ -0,0 +1,96 @@
+package com.example.springboottemplate.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+
+/**
+ * Encodes each event as one line of JSON: timestamp, level, thread, logger, the formatted message, the message
+ * template with its arguments, MDC entries and the stack trace if any.
+ * Numbers, booleans and strings are written as JSON arguments, so log pipelines can filter on them without parsing
+ * the message; other arguments appear only in the formatted message, which the logging thread already rendered.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayBuilder bytes = new ByteArrayBuilder(256);
+        try (JsonGenerator json = jsonFactory.createGenerator(bytes, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("message", event.getFormattedMessage());
+            Object[] arguments = event.getArgumentArray();
+            if (arguments != null && arguments.length > 0) {
+                json.writeStringField("template", event.getMessage());
+                json.writeArrayFieldStart("arguments");
+                for (Object argument : arguments) {
+                    writeArgument(json, argument);
+                }
+                json.writeEndArray();
+            }
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null && !mdc.isEmpty()) {
+                json.writeObjectFieldStart("mdc");
+                for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                    json.writeStringField(entry.getKey(), entry.getValue());
+                }
+                json.writeEndObject();
+            }
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                json.writeStringField("exception", ThrowableProxyUtil.asString(throwable));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytes.append('\n');
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    private static void writeArgument(JsonGenerator json, Object argument) throws IOException {
+        if (argument == null) {
+            json.writeNull();
+        } else if (argument instanceof Integer || argument instanceof Long || argument instanceof Short
+                || argument instanceof Byte) {
+            json.writeNumber(((Number) argument).longValue());
+        } else if (argument instanceof Number number) {
+            json.writeNumber(number.doubleValue());
+        } else if (argument instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else if (argument instanceof CharSequence || argument instanceof Enum<?> || argument instanceof TemporalAccessor) {
+            json.writeString(argument.toString());
+        } else {
+            // Not rendered a second time, off the logging thread; its text is in the formatted message
+            json.writeString(argument.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springboottemplate.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * Every slot carries a sequence number: producers claim a position with one CAS on the tail and publish the
+ * element by advancing the slot's sequence; the consumer releases the slot for the next lap the same way.
+ * Producers never wait for each other beyond CAS retries and never block on a full buffer, {@link #offer} just fails.
+ */
+final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * Next position to consume; only written by the consumer, volatile so {@link #size()} can read it
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity Slots, rounded up to a power of two
+     */
+    MpscRingBuffer(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Add an element; safe to call from any thread
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    // Publishes the element to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element from the previous lap
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest element; must only be called from the consumer thread
+     *
+     * @return The element, or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        // Hands the slot to the producer of the next lap
+        sequences.set(index, position + elements.length);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Approximate number of elements, including claimed slots that are not yet published
+     */
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
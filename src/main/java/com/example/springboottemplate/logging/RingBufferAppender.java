@@ -0,0 +1,242 @@
+package com.example.springboottemplate.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous Logback appender: logging threads put events into a bounded lock-free {@link MpscRingBuffer} and
+ * a single writer thread passes them to the attached appenders. Unlike Logback's {@code AsyncAppender}, which
+ * queues through an {@code ArrayBlockingQueue} lock, producers only contend on one CAS, and a full buffer is
+ * handled by the {@link DropPolicy} instead of blocking request or Netty event-loop threads.
+ * <p>
+ * The message is formatted on the logging thread, so mutable arguments are rendered as they were when logged;
+ * caller data is not captured. Dropped events are counted, see {@link #getDroppedCount()}.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * What to do with events that do not fit
+     */
+    public enum DropPolicy {
+        /**
+         * Drop any event that finds the buffer full
+         */
+        DROP_NEW,
+        /**
+         * Drop INFO and below once the buffer is {@code discardThreshold} percent full, WARN and ERROR only when it is full
+         */
+        DISCARD_BELOW_WARN,
+        /**
+         * Wait for space; never drops while started, but a slow writer slows down logging threads
+         */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private int bufferSize = 8192;
+    private DropPolicy dropPolicy = DropPolicy.DISCARD_BELOW_WARN;
+    private int discardThreshold = 80;
+    private int maxFlushTime = 1000;
+
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private int discardSize;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        if (bufferSize < 1) {
+            addError("Invalid bufferSize " + bufferSize + " for [" + name + "]");
+            return;
+        }
+        buffer = new MpscRingBuffer<>(bufferSize);
+        discardSize = (int) ((long) buffer.capacity() * Math.max(0, Math.min(100, discardThreshold)) / 100);
+        writer = new Thread(this::drain, "log-writer-" + name);
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+        addInfo("Started [" + name + "] with " + buffer.capacity() + " slots, drop policy " + dropPolicy);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Writer of [" + name + "] did not flush within " + maxFlushTime + " ms, "
+                    + buffer.size() + " events may be lost");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (dropPolicy == DropPolicy.DISCARD_BELOW_WARN && event.getLevel().toInt() < Level.WARN_INT
+                && buffer.size() >= discardSize) {
+            dropped.increment();
+            return;
+        }
+        // Format the message and snapshot the MDC while still on the logging thread
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event) && !(dropPolicy == DropPolicy.BLOCK && offerBlocking(event))) {
+            dropped.increment();
+            return;
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean offerBlocking(ILoggingEvent event) {
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (!isStarted()) {
+                return false;
+            }
+        } while (!buffer.offer(event));
+        return true;
+    }
+
+    /**
+     * Writer loop; after stop it keeps going until the buffer is empty or stop gives up waiting
+     */
+    private void drain() {
+        while (isStarted() || !buffer.isEmpty()) {
+            ILoggingEvent event = buffer.poll();
+            if (event == null) {
+                writerParked = true;
+                // Re-check after announcing the park so an event offered meanwhile is not left waiting
+                if (buffer.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                } else {
+                    Thread.onSpinWait();
+                }
+                writerParked = false;
+                continue;
+            }
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Appender of [" + name + "] failed", e);
+            }
+        }
+    }
+
+    /**
+     * Events dropped because the buffer was full or over the discard threshold
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Events waiting for the writer
+     */
+    public int getQueuedCount() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public DropPolicy getDropPolicy() {
+        return dropPolicy;
+    }
+
+    public void setDropPolicy(DropPolicy dropPolicy) {
+        this.dropPolicy = dropPolicy;
+    }
+
+    public int getDiscardThreshold() {
+        return discardThreshold;
+    }
+
+    /**
+     * @param discardThreshold Buffer fill in percent above which {@link DropPolicy#DISCARD_BELOW_WARN} drops INFO and below
+     */
+    public void setDiscardThreshold(int discardThreshold) {
+        this.discardThreshold = discardThreshold;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    /**
+     * @param maxFlushTime Milliseconds {@link #stop()} waits for the writer to flush the buffer
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
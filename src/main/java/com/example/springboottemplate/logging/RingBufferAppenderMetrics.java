@@ -0,0 +1,46 @@
+package com.example.springboottemplate.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Exports every {@link RingBufferAppender} configured in Logback as {@code logging.async.dropped} and
+ * {@code logging.async.queued}, tagged with the appender name. Binds nothing when Logback is not the logging backend
+ * or no ring buffer appender is configured.
+ */
+public class RingBufferAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Set<String> bound = new HashSet<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof RingBufferAppender appender && bound.add(appender.getName())) {
+                    FunctionCounter.builder("logging.async.dropped", appender, RingBufferAppender::getDroppedCount)
+                            .description("Log events dropped because the async buffer was full")
+                            .tag("appender", appender.getName())
+                            .register(registry);
+                    Gauge.builder("logging.async.queued", appender, RingBufferAppender::getQueuedCount)
+                            .description("Log events waiting for the async writer")
+                            .tag("appender", appender.getName())
+                            .register(registry);
+                }
+            }
+        }
+    }
+}
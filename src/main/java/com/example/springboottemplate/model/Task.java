@@ -11,9 +11,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = @Index(name = "idx_tasks_due_at", columnList = "due_at, id"))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
@@ -31,6 +31,24 @@ public class Task {
     @Column(nullable = false)
     private Boolean completed;
 
+    /**
+     * When the task is due, if ever; indexed for the range scan that rebuilds due timers on startup
+     */
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    /**
+     * ID of the upstream JSONPlaceholder todo this task is synced from, if any
+     */
+    @Column(name = "external_id", unique = true)
+    private Long externalId;
+
+    /**
+     * Hash of the synced upstream content, used to skip unchanged rows
+     */
+    @Column(name = "content_hash")
+    private Long contentHash;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -38,4 +56,11 @@ public class Task {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Incremented by every update; orders cache invalidations across instances, and concurrent updates of the
+     * same task fail with an optimistic locking conflict instead of silently overwriting each other
+     */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,112 @@
+package com.example.springboottemplate.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that instruments statement execution.
+ * Connections and statements are wrapped in JDK proxies; {@code execute*} calls are timed as the
+ * {@code sql} phase of sampled requests and, when counting is enabled, counted by type in the current
+ * request and transaction scopes of {@link StatementCounter}. A batch counts as one statement per round trip.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final boolean countStatements;
+    private final int transactionBudget;
+
+    public InstrumentedDataSource(DataSource targetDataSource, boolean countStatements, int transactionBudget) {
+        super(targetDataSource);
+        this.countStatements = countStatements;
+        this.transactionBudget = transactionBudget;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                // prepareStatement/prepareCall carry the SQL as first argument
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private String lastBatchSql;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name) && args != null && args.length == 1 && args[0] instanceof String sql) {
+                lastBatchSql = sql;
+            }
+            if (!name.startsWith("execute")) {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            }
+
+            if (countStatements) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                        : preparedSql != null ? preparedSql : lastBatchSql;
+                StatementCounter.record(StatementType.of(sql), transactionBudget);
+            }
+            long start = RequestTiming.start();
+            try {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            } finally {
+                RequestTiming.stop(RequestTiming.Phase.SQL, start);
+            }
+        }
+    }
+}
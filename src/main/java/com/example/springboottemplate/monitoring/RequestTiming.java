@@ -0,0 +1,145 @@
+package com.example.springboottemplate.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase durations for sampled requests, bound to the request thread.
+ * When the current request is not sampled every method is a no-op after one ThreadLocal read,
+ * and no clock is read at all.
+ */
+public final class RequestTiming {
+
+    /**
+     * Measured phases, in the order they appear in the Server-Timing header
+     */
+    public enum Phase {
+        FILTERS("filters"),
+        HANDLER("handler"),
+        SERVICE("svc"),
+        SQL("sql"),
+        MAPPING("map"),
+        SERIALIZATION("ser"),
+        TOTAL("total");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos;
+    private final long[] durations = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private long handlerStartNanos;
+    private long writeStartNanos;
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return Timing of the current request, or null when it is not sampled
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start measuring a phase
+     *
+     * @return Start timestamp to pass to {@link #stop}, or 0 when the request is not sampled
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Add the time elapsed since {@code start} to a phase of the current request
+     */
+    public static void stop(Phase phase, long start) {
+        if (start == 0L) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    public long duration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    public int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    void markHandlerStart() {
+        if (handlerStartNanos == 0L) {
+            handlerStartNanos = System.nanoTime();
+            add(Phase.FILTERS, handlerStartNanos - startNanos);
+        }
+    }
+
+    void markWriteStart() {
+        if (writeStartNanos == 0L && handlerStartNanos != 0L) {
+            writeStartNanos = System.nanoTime();
+            add(Phase.HANDLER, writeStartNanos - handlerStartNanos);
+        }
+    }
+
+    void markWriteEnd() {
+        if (writeStartNanos != 0L && counts[Phase.SERIALIZATION.ordinal()] == 0) {
+            add(Phase.SERIALIZATION, System.nanoTime() - writeStartNanos);
+        }
+    }
+
+    void finish() {
+        add(Phase.TOTAL, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Render recorded phases as a Server-Timing header value, e.g. {@code filters;dur=0.412, sql;dur=1.2;desc="2"}
+     */
+    String toHeaderValue() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(phase.metricName()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", durations[phase.ordinal()] / 1_000_000.0));
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append('"');
+            }
+        }
+        return header.toString();
+    }
+}
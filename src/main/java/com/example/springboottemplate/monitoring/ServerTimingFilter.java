@@ -0,0 +1,75 @@
+package com.example.springboottemplate.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples a fraction of requests, times their phases via {@link RequestTiming} and reports them
+ * in a {@code Server-Timing} response header and as {@code http.server.phase} histograms tagged by
+ * endpoint and phase. Unsampled requests pass straight through.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // The body is buffered so the header, which needs the serialization time, can still be set
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTiming.end();
+            timing.markWriteEnd();
+            timing.finish();
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader(SERVER_TIMING, timing.toHeaderValue());
+            }
+            wrapper.copyBodyToResponse();
+            record(request, timing);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : UNKNOWN_ENDPOINT);
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            if (timing.count(phase) == 0) {
+                continue;
+            }
+            Timer.builder("http.server.phase")
+                    .tag("endpoint", endpoint)
+                    .tag("phase", phase.metricName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(timing.duration(phase), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.springboottemplate.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times TaskService calls of sampled requests as the {@code svc} phase (SQL and mapping included)
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "timing.enabled", havingValue = "true")
+public class ServiceTimingAspect {
+
+    @Around("execution(* com.example.springboottemplate.service.TaskService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = RequestTiming.start();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.SERVICE, start);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.springboottemplate.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Opens a statement counting scope per request and checks it on completion against the global
+ * statement budget and against per-endpoint expectations, exact such as {@code POST /tasks -> INSERT=1} or upper
+ * bounds such as {@code GET /tasks/{id} -> SELECT<=1} for endpoints a cache hit answers without a query.
+ * Violations are logged as warnings and counted as {@code sql.statements.violations}; statements per request
+ * are recorded as the {@code sql.statements.per.request} distribution.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private static final String UNKNOWN_ENDPOINT = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int requestBudget;
+    private final Map<String, Map<StatementType, Expected>> expectations;
+
+    /**
+     * Expected statements of one type: exactly {@code count}, or at most {@code count}
+     */
+    public record Expected(int count, boolean atMost) {
+
+        boolean matches(int actual) {
+            return atMost ? actual <= count : actual == count;
+        }
+
+        @Override
+        public String toString() {
+            return (atMost ? "<=" : "=") + count;
+        }
+    }
+
+    public StatementBudgetFilter(MeterRegistry meterRegistry, int requestBudget,
+                                 Map<String, Map<StatementType, Expected>> expectations) {
+        this.meterRegistry = meterRegistry;
+        this.requestBudget = requestBudget;
+        this.expectations = expectations;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounts outer = StatementCounter.beginScope();
+        StatementCounts counts = StatementCounter.currentScope();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StatementCounter.endScope(outer);
+            check(request, response, counts);
+        }
+    }
+
+    private void check(HttpServletRequest request, HttpServletResponse response, StatementCounts counts) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : UNKNOWN_ENDPOINT);
+        DistributionSummary.builder("sql.statements.per.request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(counts.total());
+
+        if (requestBudget > 0 && counts.total() > requestBudget) {
+            violation(endpoint, "budget");
+            logger.warn("{} {} executed {} statements, budget is {}: {}",
+                    request.getMethod(), request.getRequestURI(), counts.total(), requestBudget, counts);
+        }
+
+        // Expectations describe the successful path; error responses legitimately issue fewer statements
+        Map<StatementType, Expected> expected = expectations.get(endpoint);
+        if (expected == null || response.getStatus() >= 400) {
+            return;
+        }
+        expected.forEach((type, expectation) -> {
+            if (!expectation.matches(counts.count(type))) {
+                violation(endpoint, "expectation");
+                logger.warn("{} {} executed {} {} statement(s), expected {}{}: {}", request.getMethod(),
+                        request.getRequestURI(), counts.count(type), type, type, expectation, counts);
+            }
+        });
+    }
+
+    private void violation(String endpoint, String kind) {
+        meterRegistry.counter("sql.statements.violations", "endpoint", endpoint, "kind", kind).increment();
+    }
+}
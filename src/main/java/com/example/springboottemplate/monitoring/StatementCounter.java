@@ -0,0 +1,128 @@
+package com.example.springboottemplate.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound statement counting scopes fed by {@link InstrumentedDataSource}.
+ * A request scope is opened by {@link StatementBudgetFilter} or by {@link #capture} in tests; a transaction
+ * scope is bound to the Spring transaction on its first statement and checked against a budget on completion.
+ */
+public final class StatementCounter {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCounter.class);
+
+    private static final ThreadLocal<StatementCounts> SCOPE = new ThreadLocal<>();
+    private static final Object TRANSACTION_KEY = new Object();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Run an action and return the statements it executed on this thread
+     *
+     * @param action The code under test
+     * @return Counts of the statements executed by {@code action}
+     */
+    public static StatementCounts capture(Runnable action) {
+        return capture(() -> {
+            action.run();
+            return null;
+        }).counts();
+    }
+
+    /**
+     * Run an action and return its result together with the statements it executed on this thread
+     */
+    public static <T> Captured<T> capture(Supplier<T> action) {
+        StatementCounts outer = SCOPE.get();
+        StatementCounts counts = new StatementCounts();
+        SCOPE.set(counts);
+        try {
+            return new Captured<>(action.get(), counts);
+        } finally {
+            restore(outer, counts);
+        }
+    }
+
+    /**
+     * Open a scope nested in the current one, if any, e.g. a request scope inside a test's {@link #capture}
+     *
+     * @return The enclosing scope, to pass to {@link #endScope}; null if there is none
+     */
+    static StatementCounts beginScope() {
+        StatementCounts outer = SCOPE.get();
+        SCOPE.set(new StatementCounts());
+        return outer;
+    }
+
+    /**
+     * Counts of the innermost open scope, or null outside of any
+     */
+    static StatementCounts currentScope() {
+        return SCOPE.get();
+    }
+
+    /**
+     * Close the innermost scope, adding its counts to the enclosing one
+     */
+    static void endScope(StatementCounts outer) {
+        restore(outer, SCOPE.get());
+    }
+
+    /**
+     * Count one executed statement in the current request scope and transaction scope
+     *
+     * @param transactionBudget Statements allowed per transaction before a warning is logged, 0 for no limit
+     */
+    static void record(StatementType type, int transactionBudget) {
+        StatementCounts scope = SCOPE.get();
+        if (scope != null) {
+            scope.increment(type);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            StatementCounts transaction = (StatementCounts) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+            if (transaction == null) {
+                transaction = bindTransactionScope(transactionBudget);
+            }
+            transaction.increment(type);
+        }
+    }
+
+    private static StatementCounts bindTransactionScope(int transactionBudget) {
+        StatementCounts counts = new StatementCounts();
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, counts);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                if (transactionBudget > 0 && counts.total() > transactionBudget) {
+                    logger.warn("Transaction {} executed {} statements, budget is {}: {}",
+                            transactionName, counts.total(), transactionBudget, counts);
+                } else {
+                    logger.trace("Transaction {} executed {}", transactionName, counts);
+                }
+            }
+        });
+        return counts;
+    }
+
+    private static void restore(StatementCounts outer, StatementCounts inner) {
+        if (outer == null) {
+            SCOPE.remove();
+            return;
+        }
+        outer.add(inner);
+        SCOPE.set(outer);
+    }
+
+    /**
+     * Result of a captured action and the statements it executed
+     */
+    public record Captured<T>(T result, StatementCounts counts) {
+    }
+}
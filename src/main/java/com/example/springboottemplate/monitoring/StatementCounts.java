@@ -0,0 +1,61 @@
+package com.example.springboottemplate.monitoring;
+
+/**
+ * Statement counts by type for one scope (a request, a transaction or a captured block).
+ * The assertion methods throw {@link AssertionError} so they can be used directly in tests, e.g.
+ * {@code StatementCounter.capture(() -> taskService.getTaskById(id)).assertCount(StatementType.SELECT, 1)}.
+ */
+public class StatementCounts {
+
+    private final int[] counts = new int[StatementType.values().length];
+
+    void increment(StatementType type) {
+        counts[type.ordinal()]++;
+    }
+
+    void add(StatementCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public int count(StatementType type) {
+        return counts[type.ordinal()];
+    }
+
+    public int total() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public StatementCounts assertCount(StatementType type, int expected) {
+        if (count(type) != expected) {
+            throw new AssertionError(String.format("Expected %d %s statement(s) but %d were executed: %s",
+                    expected, type, count(type), this));
+        }
+        return this;
+    }
+
+    public StatementCounts assertTotalAtMost(int budget) {
+        if (total() > budget) {
+            throw new AssertionError(String.format("Expected at most %d statement(s) but %d were executed: %s",
+                    budget, total(), this));
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (StatementType type : StatementType.values()) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(type).append('=').append(count(type));
+        }
+        return builder.append('}').toString();
+    }
+}
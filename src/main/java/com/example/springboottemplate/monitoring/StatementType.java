@@ -0,0 +1,46 @@
+package com.example.springboottemplate.monitoring;
+
+/**
+ * Kind of SQL statement, derived from its leading keyword
+ */
+public enum StatementType {
+    SELECT,
+    INSERT,
+    UPDATE,
+    DELETE,
+    OTHER;
+
+    private static final StatementType[] VALUES = values();
+
+    /**
+     * Classify a statement, skipping leading whitespace and SQL comments
+     */
+    public static StatementType of(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c) || c == '(') {
+                i++;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else {
+                break;
+            }
+        }
+        for (StatementType type : VALUES) {
+            if (type != OTHER && sql.regionMatches(true, i, type.name(), 0, type.name().length())) {
+                return type;
+            }
+        }
+        // Hibernate's merge/upsert and CTEs are rare here; they are counted as OTHER
+        return OTHER;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.springboottemplate.repository;
+
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.exception.BadRequestException;
+import com.example.springboottemplate.model.Task;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC access to the tasks table for the reactive profile.
+ * Uses the schema Hibernate creates for {@link Task}; rows are mapped to the same entity class.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, completed, due_at, created_at, updated_at, version";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (title, description, completed, due_at, created_at, updated_at, version) "
+                    + "VALUES (:title, :description, :completed, :dueAt, :createdAt, :updatedAt, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET title = :title, description = :description, completed = :completed, "
+                    + "due_at = :dueAt, updated_at = :updatedAt, version = version + 1 "
+                    + "WHERE id = :id AND version = :version";
+
+    /**
+     * Sortable properties and their columns; anything else is rejected instead of being concatenated into SQL
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "description", "description",
+            "completed", "completed",
+            "dueAt", "due_at",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    /**
+     * Find the tasks with the given IDs in one {@code IN} query
+     *
+     * @param ids Task IDs, at least one
+     * @return Existing tasks, in no particular order
+     */
+    public Flux<Task> findAllById(Collection<Long> ids) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    /**
+     * Find one page of tasks
+     *
+     * @param pageable Page, size and sort; sort properties must be {@link Task} fields
+     * @return Tasks of the page, in sort order
+     */
+    public Flux<Task> findPage(Pageable pageable) {
+        return Flux.defer(() -> databaseClient
+                .sql("SELECT " + COLUMNS + " FROM tasks ORDER BY " + orderBy(pageable.getSort())
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveTaskRepository::toTask)
+                .all());
+    }
+
+    /**
+     * Find one task, selecting only the given fields
+     *
+     * @return Values in the order of {@code fields}
+     */
+    public Mono<Object[]> findById(List<TaskField> fields, Long id) {
+        return databaseClient.sql("SELECT " + columns(fields) + " FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map(row -> toValues(row, fields))
+                .one();
+    }
+
+    /**
+     * Find one page of tasks, selecting only the given fields
+     *
+     * @return Values in the order of {@code fields}, per task of the page in sort order
+     */
+    public Flux<Object[]> findPage(List<TaskField> fields, Pageable pageable) {
+        return Flux.defer(() -> databaseClient
+                .sql("SELECT " + columns(fields) + " FROM tasks ORDER BY " + orderBy(pageable.getSort())
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(row -> toValues(row, fields))
+                .all());
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM tasks")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Insert a new task
+     *
+     * @return The task with its generated ID and timestamps set
+     */
+    public Mono<Task> insert(Task task) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql(INSERT_SQL)
+                .bind("title", task.getTitle())
+                .bind("description", Parameter.fromOrEmpty(task.getDescription(), String.class))
+                .bind("completed", Parameter.fromOrEmpty(task.getCompleted(), Boolean.class))
+                .bind("dueAt", Parameter.fromOrEmpty(task.getDueAt(), LocalDateTime.class))
+                .bind("createdAt", now)
+                .bind("updatedAt", now)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    task.setId(id);
+                    task.setCreatedAt(now);
+                    task.setUpdatedAt(now);
+                    task.setVersion(0L);
+                    return task;
+                });
+    }
+
+    /**
+     * Update title, description, completed and due date of an existing task, if it still has the version it was
+     * read with
+     *
+     * @return Number of updated rows; 0 if the task was deleted or updated by someone else since it was read
+     */
+    public Mono<Long> update(Task task) {
+        LocalDateTime now = LocalDateTime.now();
+        long readVersion = task.getVersion() == null ? 0 : task.getVersion();
+        task.setUpdatedAt(now);
+        task.setVersion(readVersion + 1);
+        return databaseClient.sql(UPDATE_SQL)
+                .bind("title", task.getTitle())
+                .bind("description", Parameter.fromOrEmpty(task.getDescription(), String.class))
+                .bind("completed", Parameter.fromOrEmpty(task.getCompleted(), Boolean.class))
+                .bind("dueAt", Parameter.fromOrEmpty(task.getDueAt(), LocalDateTime.class))
+                .bind("updatedAt", now)
+                .bind("id", task.getId())
+                .bind("version", readVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return Number of deleted rows
+     */
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "id";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new BadRequestException("Cannot sort tasks by '" + order.getProperty() + "'");
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String columns(List<TaskField> fields) {
+        return fields.stream()
+                .map(TaskField::getColumn)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Object[] toValues(Readable row, List<TaskField> fields) {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            TaskField field = fields.get(i);
+            values[i] = row.get(field.getColumn(), field.getType());
+        }
+        return values;
+    }
+
+    private static Task toTask(Readable row) {
+        return Task.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .completed(row.get("completed", Boolean.class))
+                .dueAt(row.get("due_at", LocalDateTime.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.springboottemplate.repository;
+
+import com.example.springboottemplate.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writes for tasks synced from upstream.
+ * Inserts bypass JPA because IDENTITY id generation disables Hibernate insert batching.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (title, description, completed, external_id, content_hash, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET title = ?, completed = ?, content_hash = ?, updated_at = ?, version = version + 1 "
+                    + "WHERE external_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert new synced tasks in a single JDBC batch
+     *
+     * @param tasks Tasks with external ID and content hash set
+     */
+    public void insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks.stream()
+                .map(task -> new Object[]{
+                        task.getTitle(), task.getDescription(), task.getCompleted(),
+                        task.getExternalId(), task.getContentHash(), now, now})
+                .toList());
+    }
+
+    /**
+     * Update changed synced tasks, matched by external ID, in a single JDBC batch
+     *
+     * @param tasks Tasks with external ID and new content hash set
+     */
+    public void updateAllByExternalId(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, tasks.stream()
+                .map(task -> new Object[]{
+                        task.getTitle(), task.getCompleted(), task.getContentHash(), now, task.getExternalId()})
+                .toList());
+    }
+}
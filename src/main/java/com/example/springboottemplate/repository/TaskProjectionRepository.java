@@ -0,0 +1,86 @@
+package com.example.springboottemplate.repository;
+
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Column projections of tasks for sparse fieldsets.
+ * The field combination is only known per request, so queries select the requested attributes through the
+ * Criteria API as tuples: only those columns are read and no entities are instantiated or put in the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Find one page of tasks
+     *
+     * @param fields Attributes to select
+     * @param pageable Page, size and sort
+     * @return Rows of values in the order of {@code fields}
+     */
+    public Page<Object[]> findPage(List<TaskField> fields, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(selections(root, fields));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList().stream()
+                .map(Tuple::toArray)
+                .toList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(builder));
+    }
+
+    /**
+     * Find one task
+     *
+     * @param fields Attributes to select
+     * @param id Task ID
+     * @return Values in the order of {@code fields}, or empty when the task does not exist
+     */
+    public Optional<Object[]> findById(List<TaskField> fields, Long id) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(selections(root, fields));
+        query.where(builder.equal(root.get(TaskField.ID.getProperty()), id));
+
+        return entityManager.createQuery(query)
+                .getResultList().stream()
+                .findFirst()
+                .map(Tuple::toArray);
+    }
+
+    private long count(CriteriaBuilder builder) {
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        query.select(builder.count(query.from(Task.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<Selection<?>> selections(Root<Task> root, List<TaskField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getProperty()))
+                .toList();
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.springboottemplate.repository;
 
 import com.example.springboottemplate.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for Task entity
  */
@@ -11,4 +18,46 @@ import org.springframework.stereotype.Repository;
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // Spring Data JPA provides basic CRUD operations by default
     // Custom query methods can be added here if needed
+
+    /**
+     * Find the sync state (external ID and content hash) of tasks synced from upstream
+     *
+     * @param externalIds Upstream IDs
+     * @return Sync state of the matching tasks
+     */
+    @Query("select t.externalId as externalId, t.contentHash as contentHash from Task t where t.externalId in :externalIds")
+    List<ExternalTaskState> findExternalStateByExternalIdIn(@Param("externalIds") Collection<Long> externalIds);
+
+    /**
+     * Find open tasks due after a position in (due date, ID) order, one keyset page at a time;
+     * a range scan of the {@code idx_tasks_due_at} index
+     *
+     * @param afterDueAt Due date of the last task of the previous page
+     * @param afterId ID of the last task of the previous page
+     * @param pageable Page size only; the offset is always 0
+     * @return Due state of the next tasks in (due date, ID) order
+     */
+    @Query("select t.id as id, t.dueAt as dueAt from Task t where t.completed = false"
+            + " and (t.dueAt > :afterDueAt or (t.dueAt = :afterDueAt and t.id > :afterId))"
+            + " order by t.dueAt, t.id")
+    List<DueTaskState> findOpenDueAfter(@Param("afterDueAt") LocalDateTime afterDueAt, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /**
+     * Projection of the columns needed to diff upstream content against stored tasks
+     */
+    interface ExternalTaskState {
+        Long getExternalId();
+
+        Long getContentHash();
+    }
+
+    /**
+     * Projection of the columns needed to schedule due timers
+     */
+    interface DueTaskState {
+        Long getId();
+
+        LocalDateTime getDueAt();
+    }
 }
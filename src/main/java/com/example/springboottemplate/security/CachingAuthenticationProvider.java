@@ -0,0 +1,104 @@
+package com.example.springboottemplate.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers successfully verified username/password pairs for a short time so Basic-auth clients
+ * pay for the password hash check once per TTL instead of on every request.
+ * Entries are keyed by an HMAC of the credentials under a per-process random key, so no password
+ * or reusable password hash is held in memory. The cache is a bounded LRU; failures are never cached.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final long ttlMillis;
+    private final Map<ByteBuffer, CachedAuthentication> cache;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, long ttlSeconds, int maxEntries,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, CachedAuthentication> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.hits = meterRegistry.counter("security.credentials.cache", "result", "hit");
+        this.misses = meterRegistry.counter("security.credentials.cache", "result", "miss");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        ByteBuffer cacheKey = cacheKey(authentication.getName(), credentials.toString());
+        CachedAuthentication cached = cache.get(cacheKey);
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt()) {
+            hits.increment();
+            return cached.authentication();
+        }
+
+        misses.increment();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(cacheKey, new CachedAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(result.getPrincipal(), null, result.getAuthorities()),
+                    System.currentTimeMillis() + ttlMillis));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private ByteBuffer cacheKey(String username, String password) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return ByteBuffer.wrap(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+        }
+    }
+
+    private record CachedAuthentication(Authentication authentication, long expiresAt) {
+    }
+}
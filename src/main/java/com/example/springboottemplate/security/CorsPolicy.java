@@ -0,0 +1,138 @@
+package com.example.springboottemplate.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable CORS policy precomputed once at startup.
+ * Exact origins are matched with a hash set lookup and wildcard origin patterns are compiled once;
+ * all response header values are prebuilt strings. Preflight decisions for a requested method and
+ * header list are cached, since browsers send the same few combinations over and over.
+ */
+public class CorsPolicy {
+
+    private static final int MAX_CACHED_PREFLIGHTS = 256;
+
+    private final boolean allowAnyOrigin;
+    private final Set<String> exactOrigins;
+    private final List<Pattern> originPatterns;
+    private final Set<String> allowedMethods;
+    private final Set<String> allowedHeaders;
+    private final boolean allowCredentials;
+    private final String allowMethodsValue;
+    private final String allowHeadersValue;
+    private final String maxAgeValue;
+    private final ConcurrentHashMap<String, Boolean> preflightDecisions = new ConcurrentHashMap<>();
+
+    public CorsPolicy(Collection<String> origins, Collection<String> methods, Collection<String> headers,
+                      boolean allowCredentials, long maxAgeSeconds) {
+        boolean anyOrigin = false;
+        Set<String> exact = new HashSet<>();
+        List<Pattern> patterns = new ArrayList<>();
+        for (String origin : origins) {
+            String trimmed = trimTrailingSlash(origin.trim());
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if ("*".equals(trimmed)) {
+                anyOrigin = true;
+            } else if (trimmed.contains("*")) {
+                patterns.add(Pattern.compile("\\Q" + trimmed.replace("*", "\\E.*\\Q") + "\\E", Pattern.CASE_INSENSITIVE));
+            } else {
+                exact.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+        this.allowAnyOrigin = anyOrigin;
+        this.exactOrigins = Set.copyOf(exact);
+        this.originPatterns = List.copyOf(patterns);
+
+        Set<String> methodSet = new HashSet<>();
+        methods.forEach(method -> methodSet.add(method.toUpperCase(Locale.ROOT)));
+        this.allowedMethods = Set.copyOf(methodSet);
+        Set<String> headerSet = new HashSet<>();
+        headers.forEach(header -> headerSet.add(header.toLowerCase(Locale.ROOT)));
+        this.allowedHeaders = Set.copyOf(headerSet);
+
+        this.allowCredentials = allowCredentials;
+        this.allowMethodsValue = String.join(", ", methods);
+        this.allowHeadersValue = String.join(", ", headers);
+        this.maxAgeValue = Long.toString(maxAgeSeconds);
+    }
+
+    /**
+     * Whether a request from this origin is allowed; the origin is echoed back when it is
+     */
+    public boolean isOriginAllowed(String origin) {
+        if (allowAnyOrigin) {
+            return true;
+        }
+        String normalized = trimTrailingSlash(origin);
+        if (exactOrigins.contains(normalized) || exactOrigins.contains(normalized.toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        for (Pattern pattern : originPatterns) {
+            if (pattern.matcher(normalized).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a preflight for this method and {@code Access-Control-Request-Headers} value is allowed
+     */
+    public boolean isPreflightAllowed(String requestMethod, String requestHeaders) {
+        String key = requestHeaders == null ? requestMethod : requestMethod + '\n' + requestHeaders;
+        Boolean decision = preflightDecisions.get(key);
+        if (decision == null) {
+            decision = evaluatePreflight(requestMethod, requestHeaders);
+            if (preflightDecisions.size() >= MAX_CACHED_PREFLIGHTS) {
+                preflightDecisions.clear();
+            }
+            preflightDecisions.put(key, decision);
+        }
+        return decision;
+    }
+
+    public boolean isAllowCredentials() {
+        return allowCredentials;
+    }
+
+    public String getAllowMethodsValue() {
+        return allowMethodsValue;
+    }
+
+    public String getAllowHeadersValue() {
+        return allowHeadersValue;
+    }
+
+    public String getMaxAgeValue() {
+        return maxAgeValue;
+    }
+
+    private boolean evaluatePreflight(String requestMethod, String requestHeaders) {
+        if (!allowedMethods.contains(requestMethod.toUpperCase(Locale.ROOT))) {
+            return false;
+        }
+        if (requestHeaders == null || requestHeaders.isBlank()) {
+            return true;
+        }
+        for (String header : requestHeaders.split(",")) {
+            String name = header.trim().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !allowedHeaders.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String trimTrailingSlash(String origin) {
+        return origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+    }
+}
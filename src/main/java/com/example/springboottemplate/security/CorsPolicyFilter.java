@@ -0,0 +1,90 @@
+package com.example.springboottemplate.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies a precomputed {@link CorsPolicy}.
+ * Requests without an {@code Origin} header pass straight through; allowed origins get prebuilt
+ * response headers and preflights are answered directly from the policy without reaching the rest of the chain.
+ */
+public class CorsPolicyFilter extends OncePerRequestFilter {
+
+    private static final String VARY_VALUE = String.join(", ", HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private final CorsPolicy policy;
+
+    public CorsPolicyFilter(CorsPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.addHeader(HttpHeaders.VARY, VARY_VALUE);
+        String preflightMethod = HttpMethod.OPTIONS.matches(request.getMethod())
+                ? request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD)
+                : null;
+
+        if (!policy.isOriginAllowed(origin)) {
+            // Browsers send Origin on same-origin POSTs too; only reject genuine cross-origin requests
+            if (preflightMethod == null && isSameOrigin(request, origin)) {
+                chain.doFilter(request, response);
+            } else {
+                reject(response);
+            }
+            return;
+        }
+
+        if (preflightMethod != null) {
+            if (!policy.isPreflightAllowed(preflightMethod, request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS))) {
+                reject(response);
+                return;
+            }
+            addAllowHeaders(response, origin);
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, policy.getAllowMethodsValue());
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, policy.getAllowHeadersValue());
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, policy.getMaxAgeValue());
+            response.setStatus(HttpServletResponse.SC_OK);
+            return;
+        }
+
+        addAllowHeaders(response, origin);
+        chain.doFilter(request, response);
+    }
+
+    private void addAllowHeaders(HttpServletResponse response, String origin) {
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (policy.isAllowCredentials()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+    }
+
+    private static boolean isSameOrigin(HttpServletRequest request, String origin) {
+        String scheme = request.getScheme();
+        int port = request.getServerPort();
+        boolean defaultPort = ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        String expected = scheme + "://" + request.getServerName() + (defaultPort ? "" : ":" + port);
+        return expected.equalsIgnoreCase(origin);
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.getWriter().print("Invalid CORS request");
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.springboottemplate.security;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link CorsPolicyFilter}, applying the same precomputed {@link CorsPolicy}
+ */
+public class CorsPolicyWebFilter implements WebFilter {
+
+    private static final String VARY_VALUE = String.join(", ", HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+    private static final byte[] REJECT_BODY = "Invalid CORS request".getBytes(StandardCharsets.UTF_8);
+
+    private final CorsPolicy policy;
+
+    public CorsPolicyWebFilter(CorsPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String origin = request.getHeaders().getOrigin();
+        if (origin == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().add(HttpHeaders.VARY, VARY_VALUE);
+        String preflightMethod = HttpMethod.OPTIONS.equals(request.getMethod())
+                ? request.getHeaders().getFirst(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD)
+                : null;
+
+        if (!policy.isOriginAllowed(origin)) {
+            // Browsers send Origin on same-origin POSTs too; only reject genuine cross-origin requests
+            if (preflightMethod == null && isSameOrigin(request, origin)) {
+                return chain.filter(exchange);
+            }
+            return reject(response);
+        }
+
+        if (preflightMethod != null) {
+            if (!policy.isPreflightAllowed(preflightMethod,
+                    request.getHeaders().getFirst(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS))) {
+                return reject(response);
+            }
+            addAllowHeaders(response, origin);
+            HttpHeaders headers = response.getHeaders();
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, policy.getAllowMethodsValue());
+            headers.set(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, policy.getAllowHeadersValue());
+            headers.set(HttpHeaders.ACCESS_CONTROL_MAX_AGE, policy.getMaxAgeValue());
+            response.setStatusCode(HttpStatus.OK);
+            return response.setComplete();
+        }
+
+        addAllowHeaders(response, origin);
+        return chain.filter(exchange);
+    }
+
+    private void addAllowHeaders(ServerHttpResponse response, String origin) {
+        response.getHeaders().set(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (policy.isAllowCredentials()) {
+            response.getHeaders().set(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+    }
+
+    private static boolean isSameOrigin(ServerHttpRequest request, String origin) {
+        URI uri = request.getURI();
+        String scheme = uri.getScheme();
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        String expected = scheme + "://" + uri.getHost() + (defaultPort ? "" : ":" + port);
+        return expected.equalsIgnoreCase(origin);
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        DataBuffer body = response.bufferFactory().wrap(REJECT_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springboottemplate.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps one filter of the security chain and records its self time as {@code security.filter{filter=...}}.
+ * Time spent further down the chain is excluded, so the per-filter timers add up to the chain's own overhead.
+ */
+public class TimedSecurityFilter implements Filter {
+
+    private final Filter delegate;
+    private final Timer timer;
+
+    public TimedSecurityFilter(Filter delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timer = Timer.builder("security.filter")
+                .tag("filter", delegate.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        DownstreamClock clock = new DownstreamClock(chain);
+        long start = System.nanoTime();
+        try {
+            delegate.doFilter(request, response, clock);
+        } finally {
+            timer.record(System.nanoTime() - start - clock.downstreamNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Delegate's view of the rest of the chain, measuring how long the rest of the chain takes
+     */
+    private static final class DownstreamClock implements FilterChain {
+        private final FilterChain chain;
+        private long downstreamNanos;
+
+        private DownstreamClock(FilterChain chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            long start = System.nanoTime();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                downstreamNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
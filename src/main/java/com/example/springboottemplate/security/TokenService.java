@@ -0,0 +1,163 @@
+package com.example.springboottemplate.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies stateless HMAC-SHA256 signed bearer tokens.
+ * A token is {@code base64url(subject|expiresAt|authorities).base64url(signature)}; verification is one
+ * HMAC over the payload and a constant-time comparison, with no store lookup and no password hashing.
+ * The subject and each of the comma-separated authorities are base64url encoded in the payload, so no name can
+ * contain a separator and forge the fields after it.
+ */
+@Component
+public class TokenService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char FIELD_SEPARATOR = '|';
+    private static final char AUTHORITY_SEPARATOR = ',';
+    private static final int SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    // Mac instances are not thread-safe; one per thread avoids both locking and per-request provider lookups
+    private final ThreadLocal<Mac> macs;
+
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:3600}") long ttlSeconds) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("security.token.secret is not set, using a random secret; tokens will not survive restarts "
+                    + "and are only valid on this node");
+            secretBytes = new byte[SECRET_BYTES];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issue a token for an authenticated principal
+     *
+     * @param authentication Successful authentication
+     * @return Signed bearer token
+     */
+    public String issue(Authentication authentication) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String authorities = authentication.getAuthorities().stream()
+                .map(authority -> encodeField(authority.getAuthority()))
+                .collect(Collectors.joining(String.valueOf(AUTHORITY_SEPARATOR)));
+        String payload = encodeField(authentication.getName()) + FIELD_SEPARATOR + expiresAt + FIELD_SEPARATOR + authorities;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + '.' + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verify a token's signature and expiry
+     *
+     * @param token Bearer token
+     * @return The authenticated principal, or null if the token is malformed, forged or expired
+     */
+    public Authentication verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(signature, sign(payloadBytes))) {
+            return null;
+        }
+
+        String payload = new String(payloadBytes, StandardCharsets.UTF_8);
+        int first = payload.indexOf(FIELD_SEPARATOR);
+        int second = payload.indexOf(FIELD_SEPARATOR, first + 1);
+        if (first <= 0 || second < 0) {
+            return null;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(payload, first + 1, second, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (System.currentTimeMillis() / 1000 >= expiresAt) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        String subject;
+        try {
+            subject = decodeField(payload.substring(0, first));
+            int from = second + 1;
+            while (from < payload.length()) {
+                int comma = payload.indexOf(AUTHORITY_SEPARATOR, from);
+                int to = comma < 0 ? payload.length() : comma;
+                authorities.add(new SimpleGrantedAuthority(decodeField(payload.substring(from, to))));
+                from = to + 1;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64url, e.g. a stray separator
+            return null;
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(subject, null, authorities);
+    }
+
+    private static String encodeField(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeField(String field) {
+        return new String(DECODER.decode(field), StandardCharsets.UTF_8);
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.dto.SparseTaskDto;
+import com.example.springboottemplate.dto.TaskCreateRequest;
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupResponse;
+import com.example.springboottemplate.dto.TaskUpdateRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of {@link TaskService}, used by the reactive profile
+ */
+public interface ReactiveTaskService {
+
+    /**
+     * Get all tasks with pagination
+     *
+     * @param pageable Pagination information
+     * @return Page of TaskDto objects
+     */
+    Mono<Page<TaskDto>> getAllTasks(Pageable pageable);
+
+    /**
+     * Get all tasks with pagination, loading only the selected fields
+     *
+     * @param pageable Pagination information
+     * @param fields Fields to load and return
+     * @return Page of sparse tasks
+     */
+    Mono<Page<SparseTaskDto>> getAllTasks(Pageable pageable, List<TaskField> fields);
+
+    /**
+     * Get a task by ID
+     *
+     * @param id Task ID
+     * @return TaskDto, or an error with ResourceNotFoundException
+     */
+    Mono<TaskDto> getTaskById(Long id);
+
+    /**
+     * Get a task by ID, loading only the selected fields
+     *
+     * @param id Task ID
+     * @param fields Fields to load and return
+     * @return Sparse task, or an error with ResourceNotFoundException
+     */
+    Mono<SparseTaskDto> getTaskById(Long id, List<TaskField> fields);
+
+    /**
+     * Get several tasks by ID in one round trip
+     *
+     * @param ids Task IDs; duplicates are returned once
+     * @return Found tasks in request order, and the IDs that do not exist
+     */
+    Mono<TaskLookupResponse> lookupTasks(List<Long> ids);
+
+    /**
+     * Create a new task
+     *
+     * @param request Task creation request
+     * @return Created TaskDto
+     */
+    Mono<TaskDto> createTask(TaskCreateRequest request);
+
+    /**
+     * Update an existing task
+     *
+     * @param id Task ID
+     * @param request Task update request
+     * @return Updated TaskDto, or an error with ResourceNotFoundException
+     */
+    Mono<TaskDto> updateTask(Long id, TaskUpdateRequest request);
+
+    /**
+     * Delete a task by ID
+     *
+     * @param id Task ID
+     * @return Completion, or an error with ResourceNotFoundException
+     */
+    Mono<Void> deleteTask(Long id);
+}
@@ -0,0 +1,162 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.dto.SparseTaskDto;
+import com.example.springboottemplate.dto.TaskCreateRequest;
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupResponse;
+import com.example.springboottemplate.dto.TaskUpdateRequest;
+import com.example.springboottemplate.due.TaskDueScheduler;
+import com.example.springboottemplate.exception.ResourceNotFoundException;
+import com.example.springboottemplate.model.Task;
+import com.example.springboottemplate.repository.ReactiveTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Implementation of ReactiveTaskService on R2DBC
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final TaskDueScheduler taskDueScheduler;
+
+    @Value("${tasks.lookup.maxIds:1000}")
+    private int maxLookupIds;
+
+    @Value("${tasks.lookup.chunkSize:256}")
+    private int lookupChunkSize;
+
+    /**
+     * Convert Task entity to TaskDto
+     */
+    private TaskDto mapToDto(Task task) {
+        return TaskDto.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.getCompleted())
+                .dueAt(task.getDueAt())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
+                .build();
+    }
+
+    @Override
+    public Mono<Page<TaskDto>> getAllTasks(Pageable pageable) {
+        // Page content and total count are queried concurrently on separate connections
+        return Mono.zip(taskRepository.findPage(pageable).map(this::mapToDto).collectList(), taskRepository.count())
+                .<Page<TaskDto>>map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    @Override
+    public Mono<Page<SparseTaskDto>> getAllTasks(Pageable pageable, List<TaskField> fields) {
+        Mono<List<SparseTaskDto>> content = taskRepository.findPage(fields, pageable)
+                .map(values -> new SparseTaskDto(fields, values))
+                .collectList();
+        return Mono.zip(content, taskRepository.count())
+                .<Page<SparseTaskDto>>map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    @Override
+    public Mono<TaskDto> getTaskById(Long id) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task", "id", id)))
+                .map(this::mapToDto);
+    }
+
+    @Override
+    public Mono<SparseTaskDto> getTaskById(Long id, List<TaskField> fields) {
+        return taskRepository.findById(fields, id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task", "id", id)))
+                .map(values -> new SparseTaskDto(fields, values));
+    }
+
+    @Override
+    public Mono<TaskLookupResponse> lookupTasks(List<Long> ids) {
+        return Mono.fromCallable(() -> TaskLookup.distinct(ids, maxLookupIds))
+                .flatMap(distinctIds -> Flux.fromIterable(TaskLookup.chunks(distinctIds, lookupChunkSize))
+                        .concatMap(taskRepository::findAllById)
+                        .map(this::mapToDto)
+                        .collectMap(TaskDto::getId)
+                        .map(found -> TaskLookup.inRequestOrder(distinctIds, found)));
+    }
+
+    @Override
+    public Mono<TaskDto> createTask(TaskCreateRequest request) {
+        Task task = Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .completed(request.getCompleted())
+                .dueAt(request.getDueAt())
+                .build();
+
+        return taskRepository.insert(task)
+                .map(this::mapToDto)
+                .doOnNext(this::scheduleDue);
+    }
+
+    @Override
+    public Mono<TaskDto> updateTask(Long id, TaskUpdateRequest request) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task", "id", id)))
+                .flatMap(task -> {
+                    // Update only non-null fields
+                    if (request.getTitle() != null) {
+                        task.setTitle(request.getTitle());
+                    }
+
+                    if (request.getDescription() != null) {
+                        task.setDescription(request.getDescription());
+                    }
+
+                    if (request.getCompleted() != null) {
+                        task.setCompleted(request.getCompleted());
+                    }
+
+                    if (Boolean.TRUE.equals(request.getClearDueAt())) {
+                        task.setDueAt(null);
+                    } else if (request.getDueAt() != null) {
+                        task.setDueAt(request.getDueAt());
+                    }
+
+                    // Like the JPA @Version check: someone else wrote the task since it was read
+                    return taskRepository.update(task).flatMap(updated -> updated == 0
+                            ? Mono.error(new OptimisticLockingFailureException(
+                                    "Task " + id + " was modified concurrently"))
+                            : Mono.just(task));
+                })
+                .map(this::mapToDto)
+                .as(transactionalOperator::transactional)
+                // After the transactional operator, so only committed updates reschedule
+                .doOnNext(this::scheduleDue);
+    }
+
+    @Override
+    public Mono<Void> deleteTask(Long id) {
+        return taskRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Task", "id", id))
+                        : Mono.<Void>fromRunnable(() -> taskDueScheduler.cancel(id)));
+    }
+
+    private void scheduleDue(TaskDto task) {
+        taskDueScheduler.schedule(task.getId(), task.getDueAt(), task.getCompleted());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.dto.SparseTaskDto;
+import com.example.springboottemplate.dto.TaskCreateRequest;
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupResponse;
+import com.example.springboottemplate.dto.TaskUpdateRequest;
+import com.example.springboottemplate.due.TaskDueScheduler;
+import com.example.springboottemplate.exception.ResourceNotFoundException;
+import com.example.springboottemplate.model.Task;
+import com.example.springboottemplate.monitoring.RequestTiming;
+import com.example.springboottemplate.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of TaskService on the in-memory {@link TaskStore} of the memstore profile.
+ * Every store write is durable when it returns, so due timers are rescheduled right after it.
+ */
+@Service
+@Profile("memstore")
+@RequiredArgsConstructor
+public class StoreTaskServiceImpl implements TaskService {
+
+    private final TaskStore taskStore;
+    private final TaskDueScheduler taskDueScheduler;
+
+    @Value("${tasks.lookup.maxIds:1000}")
+    private int maxLookupIds;
+
+    /**
+     * Convert Task entity to TaskDto
+     */
+    private TaskDto mapToDto(Task task) {
+        long start = RequestTiming.start();
+        TaskDto dto = TaskDto.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.getCompleted())
+                .dueAt(task.getDueAt())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
+                .build();
+        RequestTiming.stop(RequestTiming.Phase.MAPPING, start);
+        return dto;
+    }
+
+    @Override
+    public Page<TaskDto> getAllTasks(Pageable pageable) {
+        return taskStore.findPage(pageable)
+                .map(this::mapToDto);
+    }
+
+    @Override
+    public Page<SparseTaskDto> getAllTasks(Pageable pageable, List<TaskField> fields) {
+        return getAllTasks(pageable)
+                .map(task -> SparseTaskDto.of(task, fields));
+    }
+
+    @Override
+    public TaskDto getTaskById(Long id) {
+        return mapToDto(findTask(id));
+    }
+
+    @Override
+    public SparseTaskDto getTaskById(Long id, List<TaskField> fields) {
+        return SparseTaskDto.of(getTaskById(id), fields);
+    }
+
+    @Override
+    public TaskLookupResponse lookupTasks(List<Long> ids) {
+        List<Long> distinctIds = TaskLookup.distinct(ids, maxLookupIds);
+        Map<Long, TaskDto> found = new HashMap<>();
+        for (Long id : distinctIds) {
+            Task task = taskStore.get(id);
+            if (task != null) {
+                found.put(id, mapToDto(task));
+            }
+        }
+        return TaskLookup.inRequestOrder(distinctIds, found);
+    }
+
+    @Override
+    public TaskDto createTask(TaskCreateRequest request) {
+        Task task = Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .completed(request.getCompleted())
+                .dueAt(request.getDueAt())
+                .build();
+
+        Task savedTask = taskStore.insert(task);
+        taskDueScheduler.schedule(savedTask.getId(), savedTask.getDueAt(), savedTask.getCompleted());
+        return mapToDto(savedTask);
+    }
+
+    @Override
+    public TaskDto updateTask(Long id, TaskUpdateRequest request) {
+        Task updatedTask = taskStore.update(id, current -> {
+            // Update only non-null fields, on a copy: stored tasks are shared
+            Task.TaskBuilder task = current.toBuilder();
+            if (request.getTitle() != null) {
+                task.title(request.getTitle());
+            }
+
+            if (request.getDescription() != null) {
+                task.description(request.getDescription());
+            }
+
+            if (request.getCompleted() != null) {
+                task.completed(request.getCompleted());
+            }
+
+            if (Boolean.TRUE.equals(request.getClearDueAt())) {
+                task.dueAt(null);
+            } else if (request.getDueAt() != null) {
+                task.dueAt(request.getDueAt());
+            }
+            return task.build();
+        });
+        if (updatedTask == null) {
+            throw new ResourceNotFoundException("Task", "id", id);
+        }
+        taskDueScheduler.schedule(id, updatedTask.getDueAt(), updatedTask.getCompleted());
+        return mapToDto(updatedTask);
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        if (!taskStore.delete(id)) {
+            throw new ResourceNotFoundException("Task", "id", id);
+        }
+        taskDueScheduler.cancel(id);
+    }
+
+    private Task findTask(Long id) {
+        Task task = taskStore.get(id);
+        if (task == null) {
+            throw new ResourceNotFoundException("Task", "id", id);
+        }
+        return task;
+    }
+}
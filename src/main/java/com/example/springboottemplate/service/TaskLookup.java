@@ -0,0 +1,74 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskLookupResponse;
+import com.example.springboottemplate.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared steps of the multi-get in both task services: de-duplicating the requested IDs, splitting them into
+ * padded IN-list chunks and putting the found tasks back into request order
+ */
+final class TaskLookup {
+
+    private TaskLookup() {
+    }
+
+    /**
+     * Requested IDs without duplicates, in first-occurrence order
+     *
+     * @throws BadRequestException When more than {@code maxIds} distinct IDs are requested
+     */
+    static List<Long> distinct(List<Long> ids, int maxIds) {
+        List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > maxIds) {
+            throw new BadRequestException(String.format("At most %d task IDs are allowed per request", maxIds));
+        }
+        return distinct;
+    }
+
+    /**
+     * Split IDs into chunks of at most {@code chunkSize}, each padded to a power of two by repeating its last ID.
+     * Any number of IDs then produces one of a handful of IN-list shapes, so the database reuses cached statement
+     * plans instead of parsing a new statement per list length; the repeated IDs do not change the result.
+     */
+    static List<List<Long>> chunks(List<Long> ids, int chunkSize) {
+        int maxChunk = Integer.highestOneBit(Math.max(1, chunkSize));
+        List<List<Long>> chunks = new ArrayList<>((ids.size() + maxChunk - 1) / maxChunk);
+        for (int from = 0; from < ids.size(); from += maxChunk) {
+            int to = Math.min(ids.size(), from + maxChunk);
+            List<Long> chunk = new ArrayList<>(ids.subList(from, to));
+            int padded = Math.min(maxChunk, Integer.highestOneBit(chunk.size() - 1) << 1);
+            Long last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < padded) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Found tasks in the order of the requested IDs; IDs without a task are reported as missing
+     */
+    static TaskLookupResponse inRequestOrder(List<Long> ids, Map<Long, TaskDto> found) {
+        List<TaskDto> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            TaskDto task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return TaskLookupResponse.builder()
+                .tasks(tasks)
+                .missingIds(missingIds)
+                .build();
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.springboottemplate.service;
 
+import com.example.springboottemplate.dto.SparseTaskDto;
 import com.example.springboottemplate.dto.TaskCreateRequest;
 import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupResponse;
 import com.example.springboottemplate.dto.TaskUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Service interface for Task operations
  */
@@ -19,6 +24,15 @@ public interface TaskService {
      */
     Page<TaskDto> getAllTasks(Pageable pageable);
     
+    /**
+     * Get all tasks with pagination, loading only the selected fields
+     * 
+     * @param pageable Pagination information
+     * @param fields Fields to load and return
+     * @return Page of sparse tasks
+     */
+    Page<SparseTaskDto> getAllTasks(Pageable pageable, List<TaskField> fields);
+    
     /**
      * Get a task by ID
      * 
@@ -27,6 +41,23 @@ public interface TaskService {
      */
     TaskDto getTaskById(Long id);
     
+    /**
+     * Get a task by ID, loading only the selected fields
+     * 
+     * @param id Task ID
+     * @param fields Fields to load and return
+     * @return Sparse task
+     */
+    SparseTaskDto getTaskById(Long id, List<TaskField> fields);
+    
+    /**
+     * Get several tasks by ID in one round trip
+     * 
+     * @param ids Task IDs; duplicates are returned once
+     * @return Found tasks in request order, and the IDs that do not exist
+     */
+    TaskLookupResponse lookupTasks(List<Long> ids);
+    
     /**
      * Create a new task
      * 
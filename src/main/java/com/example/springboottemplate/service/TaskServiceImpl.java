@@ -1,38 +1,70 @@
 package com.example.springboottemplate.service;
 
+import com.example.springboottemplate.cache.InvalidationBus;
+import com.example.springboottemplate.cache.TaskCache;
+import com.example.springboottemplate.dto.SparseTaskDto;
 import com.example.springboottemplate.dto.TaskCreateRequest;
 import com.example.springboottemplate.dto.TaskDto;
+import com.example.springboottemplate.dto.TaskField;
+import com.example.springboottemplate.dto.TaskLookupResponse;
 import com.example.springboottemplate.dto.TaskUpdateRequest;
+import com.example.springboottemplate.due.TaskDueScheduler;
 import com.example.springboottemplate.exception.ResourceNotFoundException;
 import com.example.springboottemplate.model.Task;
+import com.example.springboottemplate.monitoring.RequestTiming;
+import com.example.springboottemplate.repository.TaskProjectionRepository;
 import com.example.springboottemplate.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Implementation of TaskService
+ * Implementation of TaskService on JPA
  */
 @Service
+@Profile("!memstore")
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskProjectionRepository taskProjectionRepository;
+    private final TaskCache taskCache;
+    private final TaskDueScheduler taskDueScheduler;
+    private final InvalidationBus invalidationBus;
+
+    @Value("${tasks.lookup.maxIds:1000}")
+    private int maxLookupIds;
+
+    @Value("${tasks.lookup.chunkSize:256}")
+    private int lookupChunkSize;
 
     /**
      * Convert Task entity to TaskDto
      */
-    private TaskDto mapToDto(Task task) {
-        return TaskDto.builder()
+    TaskDto mapToDto(Task task) {
+        long start = RequestTiming.start();
+        TaskDto dto = TaskDto.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
                 .completed(task.getCompleted())
+                .dueAt(task.getDueAt())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
+        RequestTiming.stop(RequestTiming.Phase.MAPPING, start);
+        return dto;
     }
 
     @Override
@@ -44,10 +76,58 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional(readOnly = true)
+    public Page<SparseTaskDto> getAllTasks(Pageable pageable, List<TaskField> fields) {
+        return taskProjectionRepository.findPage(fields, pageable)
+                .map(values -> new SparseTaskDto(fields, values));
+    }
+
+    /**
+     * Not transactional so cache hits do not take a connection; the repository call has its own read-only transaction
+     */
+    @Override
     public TaskDto getTaskById(Long id) {
+        TaskDto cached = taskCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
-        return mapToDto(task);
+        TaskDto dto = mapToDto(task);
+        taskCache.put(dto);
+        return dto;
+    }
+
+    @Override
+    public SparseTaskDto getTaskById(Long id, List<TaskField> fields) {
+        TaskDto cached = taskCache.get(id);
+        if (cached != null) {
+            return SparseTaskDto.of(cached, fields);
+        }
+        Object[] values = taskProjectionRepository.findById(fields, id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        return new SparseTaskDto(fields, values);
+    }
+
+    /**
+     * Cache hits first, then one {@code IN} query per chunk of missing IDs
+     */
+    @Override
+    public TaskLookupResponse lookupTasks(List<Long> ids) {
+        List<Long> distinctIds = TaskLookup.distinct(ids, maxLookupIds);
+        Map<Long, TaskDto> found = taskCache.getAll(distinctIds);
+        List<Long> misses = found.isEmpty()
+                ? distinctIds
+                : distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+
+        List<TaskDto> loaded = new ArrayList<>(misses.size());
+        for (List<Long> chunk : TaskLookup.chunks(misses, lookupChunkSize)) {
+            for (Task task : taskRepository.findAllById(chunk)) {
+                loaded.add(mapToDto(task));
+            }
+        }
+        taskCache.putAll(loaded);
+        loaded.forEach(task -> found.put(task.getId(), task));
+        return TaskLookup.inRequestOrder(distinctIds, found);
     }
 
     @Override
@@ -57,9 +137,11 @@ public class TaskServiceImpl implements TaskService {
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .completed(request.getCompleted())
+                .dueAt(request.getDueAt())
                 .build();
         
         Task savedTask = taskRepository.save(task);
+        runAfterCommit(() -> taskDueScheduler.schedule(savedTask.getId(), savedTask.getDueAt(), savedTask.getCompleted()));
         return mapToDto(savedTask);
     }
 
@@ -81,8 +163,18 @@ public class TaskServiceImpl implements TaskService {
         if (request.getCompleted() != null) {
             task.setCompleted(request.getCompleted());
         }
+
+        if (Boolean.TRUE.equals(request.getClearDueAt())) {
+            task.setDueAt(null);
+        } else if (request.getDueAt() != null) {
+            task.setDueAt(request.getDueAt());
+        }
         
-        Task updatedTask = taskRepository.save(task);
+        // Flush now so the returned version is the one the commit writes
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        evictAfterCompletion(id);
+        invalidateAfterCommit(id, updatedTask.getVersion());
+        runAfterCommit(() -> taskDueScheduler.schedule(id, updatedTask.getDueAt(), updatedTask.getCompleted()));
         return mapToDto(updatedTask);
     }
 
@@ -92,5 +184,53 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
         taskRepository.delete(task);
+        evictAfterCompletion(id);
+        invalidateAfterCommit(id, task.getVersion() != null ? task.getVersion() + 1 : 0);
+        runAfterCommit(() -> taskDueScheduler.cancel(id));
+    }
+
+    /**
+     * Evict a written task now and again when the transaction completes, so a read that re-cached
+     * the old row before the commit does not survive it
+     */
+    private void evictAfterCompletion(Long id) {
+        if (!taskCache.isEnabled()) {
+            return;
+        }
+        taskCache.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taskCache.evict(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Once committed, record the written version in the local cache and publish it to the other instances
+     */
+    private void invalidateAfterCommit(Long id, long version) {
+        runAfterCommit(() -> {
+            taskCache.invalidate(id, version);
+            invalidationBus.publish(id, version);
+        });
+    }
+
+    /**
+     * Run an action once the transaction commits, or right away without one, so rolled back writes leave no trace
+     */
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,225 @@
+package com.example.springboottemplate.service;
+
+import com.example.springboottemplate.cache.InvalidationBus;
+import com.example.springboottemplate.cache.TaskCache;
+import com.example.springboottemplate.client.JsonPlaceholderApiClient;
+import com.example.springboottemplate.client.JsonPlaceholderUserDecoder;
+import com.example.springboottemplate.dto.JsonPlaceholderTodoDto;
+import com.example.springboottemplate.dto.JsonPlaceholderUserSummaryDto;
+import com.example.springboottemplate.model.Task;
+import com.example.springboottemplate.repository.TaskBatchRepository;
+import com.example.springboottemplate.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental sync of upstream JSONPlaceholder todos into the local tasks table.
+ * Users are streamed from upstream and their todos are processed as per-user partitions in parallel,
+ * bounded by {@code sync.todos.parallelism}. Each partition is diffed against stored rows by external ID
+ * and content hash; unchanged rows are skipped and changes are written as JDBC batches.
+ */
+@Service
+@ConditionalOnProperty(name = "sync.todos.enabled", havingValue = "true")
+public class TodoSyncService {
+    private static final Logger logger = LoggerFactory.getLogger(TodoSyncService.class);
+
+    private static final int MAX_TITLE_LENGTH = 100;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final JsonPlaceholderApiClient apiClient;
+    private final TaskRepository taskRepository;
+    private final TaskBatchRepository taskBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCache taskCache;
+    private final InvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration runTimeout;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public TodoSyncService(JsonPlaceholderApiClient apiClient,
+                           TaskRepository taskRepository,
+                           TaskBatchRepository taskBatchRepository,
+                           TransactionTemplate transactionTemplate,
+                           TaskCache taskCache,
+                           InvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry,
+                           @Value("${sync.todos.parallelism:4}") int parallelism,
+                           @Value("${sync.todos.batchSize:200}") int batchSize,
+                           @Value("${sync.todos.runTimeout:300}") int runTimeoutSeconds) {
+        this.apiClient = apiClient;
+        this.taskRepository = taskRepository;
+        this.taskBatchRepository = taskBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskCache = taskCache;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.runTimeout = Duration.ofSeconds(runTimeoutSeconds);
+    }
+
+    @Scheduled(initialDelayString = "${sync.todos.initialDelay:30000}", fixedDelayString = "${sync.todos.interval:600000}")
+    public void scheduledSync() {
+        try {
+            syncTodos();
+        } catch (Exception e) {
+            logger.error("Todo sync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run one sync pass. Concurrent invocations are skipped while a run is in progress.
+     *
+     * @return Summary of the run, or null if a run was already in progress
+     */
+    public SyncRunSummary syncTodos() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Todo sync already running, skipping");
+            return null;
+        }
+
+        RunCounters counters = new RunCounters();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            apiClient.getAllUsers(JsonPlaceholderUserDecoder.View.SUMMARY)
+                    .doOnSubscribe(subscription -> counters.upstreamCalls.increment())
+                    .flatMapIterable(users -> users)
+                    .map(JsonPlaceholderUserSummaryDto::getId)
+                    .flatMap(userId -> apiClient.getTodosByUserId(userId)
+                                    .doOnSubscribe(subscription -> counters.upstreamCalls.increment())
+                                    // Partition writes are blocking JDBC, keep them off the Netty event loop
+                                    .publishOn(Schedulers.boundedElastic())
+                                    .doOnNext(todos -> applyPartition(todos, counters)),
+                            parallelism)
+                    .then()
+                    .block(runTimeout);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("tasks.sync.duration", "outcome", outcome));
+            // Batch updates match rows by external ID, so the cached tasks they changed are not known
+            if (counters.updated.sum() > 0) {
+                taskCache.clear();
+                invalidationBus.publishFlush();
+            }
+            running.set(false);
+        }
+
+        SyncRunSummary summary = new SyncRunSummary(
+                Duration.ofNanos(System.nanoTime() - start),
+                counters.inserted.sum(), counters.updated.sum(), counters.skipped.sum(),
+                counters.upstreamCalls.sum());
+        meterRegistry.counter("tasks.sync.rows", "result", "inserted").increment(summary.inserted());
+        meterRegistry.counter("tasks.sync.rows", "result", "updated").increment(summary.updated());
+        meterRegistry.counter("tasks.sync.rows", "result", "skipped").increment(summary.skipped());
+        meterRegistry.counter("tasks.sync.upstream.calls").increment(summary.upstreamCalls());
+        logger.info("Todo sync finished in {}ms - Inserted: {}, Updated: {}, Skipped: {}, Upstream calls: {}",
+                summary.duration().toMillis(), summary.inserted(), summary.updated(), summary.skipped(),
+                summary.upstreamCalls());
+        return summary;
+    }
+
+    /**
+     * Diff one user's todos against stored rows and apply the changes batch by batch
+     */
+    private void applyPartition(List<JsonPlaceholderTodoDto> todos, RunCounters counters) {
+        for (int from = 0; from < todos.size(); from += batchSize) {
+            List<JsonPlaceholderTodoDto> batch = todos.subList(from, Math.min(from + batchSize, todos.size()));
+            transactionTemplate.executeWithoutResult(status -> applyBatch(batch, counters));
+        }
+    }
+
+    private void applyBatch(List<JsonPlaceholderTodoDto> batch, RunCounters counters) {
+        Map<Long, Long> storedHashes = taskRepository.findExternalStateByExternalIdIn(
+                        batch.stream().map(JsonPlaceholderTodoDto::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(TaskRepository.ExternalTaskState::getExternalId,
+                        state -> state.getContentHash() != null ? state.getContentHash() : 0L));
+
+        List<Task> inserts = new ArrayList<>();
+        List<Task> updates = new ArrayList<>();
+        for (JsonPlaceholderTodoDto todo : batch) {
+            Task task = mapToTask(todo);
+            Long storedHash = storedHashes.get(todo.getId());
+            if (storedHash == null) {
+                inserts.add(task);
+            } else if (storedHash.longValue() != task.getContentHash()) {
+                updates.add(task);
+            } else {
+                counters.skipped.increment();
+            }
+        }
+
+        taskBatchRepository.insertAll(inserts);
+        taskBatchRepository.updateAllByExternalId(updates);
+        counters.inserted.add(inserts.size());
+        counters.updated.add(updates.size());
+    }
+
+    /**
+     * Convert an upstream todo to a Task carrying its external ID and content hash
+     */
+    private Task mapToTask(JsonPlaceholderTodoDto todo) {
+        String title = todo.getTitle() == null ? "" : todo.getTitle();
+        if (title.length() > MAX_TITLE_LENGTH) {
+            title = title.substring(0, MAX_TITLE_LENGTH);
+        }
+        boolean completed = Boolean.TRUE.equals(todo.getCompleted());
+        return Task.builder()
+                .externalId(todo.getId())
+                .title(title)
+                .completed(completed)
+                .contentHash(contentHash(title, completed))
+                .build();
+    }
+
+    /**
+     * 64-bit FNV-1a hash over the synced columns
+     */
+    static long contentHash(String title, boolean completed) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : title.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= completed ? 1 : 0;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+
+    private static final class RunCounters {
+        private final LongAdder inserted = new LongAdder();
+        private final LongAdder updated = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder upstreamCalls = new LongAdder();
+    }
+
+    /**
+     * Outcome of a single sync run
+     */
+    public record SyncRunSummary(Duration duration, long inserted, long updated, long skipped, long upstreamCalls) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.springboottemplate.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Makes non-critical singletons lazy: beans whose class, or whose declaring configuration class,
+ * is in one of the given packages (e.g. {@code org.springdoc}) are created on first use instead of at startup.
+ * Unlike {@code spring.main.lazy-initialization}, everything else is still created and validated eagerly.
+ * <p>
+ * Reads its switch when the bean factory is post-processed, so it also applies to AOT-processed builds.
+ */
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(LazyInitializationPostProcessor.class);
+
+    private final boolean enabled;
+    private final List<String> packages;
+
+    public LazyInitializationPostProcessor(boolean enabled, List<String> packages) {
+        this.enabled = enabled;
+        this.packages = packages.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.endsWith(".") ? name : name + ".")
+                .toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        if (!enabled || packages.isEmpty()) {
+            return;
+        }
+        int lazyBeans = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton() && !definition.isLazyInit() && matches(sourceClassName(definition))) {
+                definition.setLazyInit(true);
+                lazyBeans++;
+            }
+        }
+        logger.info("Lazy initialization enabled for {} beans in {}", lazyBeans, packages);
+    }
+
+    @Override
+    public int getOrder() {
+        // After configuration class parsing has registered every bean definition
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private boolean matches(String className) {
+        if (className == null) {
+            return false;
+        }
+        for (String prefix : packages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The bean class, or for {@code @Bean} methods the configuration class declaring them
+     */
+    private static String sourceClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getDeclaringClassName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.springboottemplate.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * JIT warmup before the application reports ready.
+ * Application runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so while
+ * this runs the readiness probe reports out of service. The warmup sends the tasks API's hot requests over loopback,
+ * so the whole path - server, filters, security, controller, service mapping, Jackson and Hibernate queries - gets
+ * compiled. It never writes: reads go to existing tasks, and creates and updates carry a body that fails validation,
+ * which warms request parsing and validation without touching the store, other instances sharing it or their caches.
+ * It runs in rounds until the round median latency is stable, {@code maxRounds} is reached or the timeout expires.
+ */
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String JSON = "application/json";
+
+    /**
+     * Longer than the 100 characters a title may have, so creates and updates are rejected with a 400 before any write
+     */
+    private static final String INVALID_TASK = "{\"title\":\"" + "x".repeat(101)
+            + "\",\"description\":\"Rejected request sent by the JIT warmup\"}";
+
+    /**
+     * Warmup limits
+     *
+     * @param tasks Existing tasks read by ID, taken from the first page of tasks
+     * @param concurrency Threads sending requests
+     * @param roundSize Requests per round
+     * @param minRounds Rounds always run
+     * @param maxRounds Rounds at most
+     * @param stableRounds Consecutive rounds whose medians must agree within {@code tolerance}
+     * @param tolerance Allowed relative spread of those medians
+     * @param timeout Overall time limit
+     */
+    public record Settings(int tasks, int concurrency, int roundSize, int minRounds, int maxRounds,
+                           int stableRounds, double tolerance, Duration timeout) {
+    }
+
+    /**
+     * Outcome of the warmup, latencies in milliseconds
+     */
+    public record Report(long durationMillis, int rounds, long requests, long errors, boolean stable,
+                         double firstP50, double firstP99, double lastP50, double lastP99) {
+    }
+
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Settings settings;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile Report report;
+
+    public WarmupRunner(Environment environment, ObjectMapper objectMapper, MeterRegistry meterRegistry, Settings settings) {
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            logger.warn("Warmup skipped: no local web server");
+            return;
+        }
+        String baseUrl = "http://127.0.0.1:" + port + "/tasks";
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long deadline = start + settings.timeout().toNanos();
+        try {
+            report = warmup(baseUrl, existingTaskIds(baseUrl), executor, start, deadline);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // A failed warmup only costs latency; it must not keep the application from starting
+            logger.warn("Warmup failed, continuing without it: {}", e.getMessage());
+            return;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Warmup finished in {} ms after {} rounds ({} requests, {} errors, {}): p50 {} ms -> {} ms, p99 {} ms -> {} ms",
+                report.durationMillis(), report.rounds(), report.requests(), report.errors(),
+                report.stable() ? "latency stable" : "stopped before latency was stable",
+                round(report.firstP50()), round(report.lastP50()), round(report.firstP99()), round(report.lastP99()));
+        registerMetrics();
+    }
+
+    private Report warmup(String baseUrl, List<Long> taskIds, ExecutorService executor, long start, long deadline)
+            throws InterruptedException {
+        List<Double> medians = new ArrayList<>();
+        double[] first = null;
+        double[] last = null;
+        long requests = 0;
+        long errors = 0;
+        boolean stable = false;
+        int rounds = 0;
+        while (rounds < settings.maxRounds() && System.nanoTime() < deadline) {
+            List<Callable<Long>> calls = new ArrayList<>(settings.roundSize());
+            for (int i = 0; i < settings.roundSize(); i++) {
+                calls.add(() -> timedRequest(baseUrl, taskIds));
+            }
+            long[] latencies = new long[settings.roundSize()];
+            int completed = 0;
+            for (Future<Long> future : executor.invokeAll(calls)) {
+                try {
+                    long latency = future.get();
+                    if (latency < 0) {
+                        errors++;
+                    } else {
+                        latencies[completed++] = latency;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                }
+            }
+            requests += settings.roundSize();
+            rounds++;
+            if (completed == 0) {
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(latencies, completed);
+            Arrays.sort(sorted);
+            last = new double[]{millis(percentile(sorted, 0.5)), millis(percentile(sorted, 0.99))};
+            if (first == null) {
+                first = last;
+            }
+            medians.add(last[0]);
+            if (rounds >= settings.minRounds() && isStable(medians)) {
+                stable = true;
+                break;
+            }
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (first == null) {
+            return new Report(durationMillis, rounds, requests, errors, false, 0, 0, 0, 0);
+        }
+        return new Report(durationMillis, rounds, requests, errors, stable, first[0], first[1], last[0], last[1]);
+    }
+
+    /**
+     * One request of the mix; without existing tasks, gets by ID are replaced by list requests
+     *
+     * @return Latency in nanoseconds, or -1 for a failed request
+     */
+    private long timedRequest(String baseUrl, List<Long> taskIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int kind = random.nextInt(10);
+        if (kind < 5 && taskIds.isEmpty()) {
+            kind = 5;
+        }
+        long start = System.nanoTime();
+        int status;
+        int expected = HttpURLConnection.HTTP_OK;
+        if (kind < 5) {
+            long id = taskIds.get(random.nextInt(taskIds.size()));
+            status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build());
+        } else if (kind < 7) {
+            status = send(HttpRequest.newBuilder(URI.create(baseUrl + "?page=0&size=20")).GET().build());
+        } else if (kind < 8) {
+            status = send(HttpRequest.newBuilder(URI.create(baseUrl + "?page=0&size=20&fields=title,completed")).GET().build());
+        } else if (kind < 9) {
+            long id = taskIds.isEmpty() ? 1 : taskIds.get(random.nextInt(taskIds.size()));
+            expected = HttpURLConnection.HTTP_BAD_REQUEST;
+            status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                    .header("Content-Type", JSON)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(INVALID_TASK))
+                    .build());
+        } else {
+            expected = HttpURLConnection.HTTP_BAD_REQUEST;
+            status = send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(INVALID_TASK))
+                    .build());
+        }
+        long latency = System.nanoTime() - start;
+        return status == expected ? latency : -1;
+    }
+
+    /**
+     * IDs of up to {@code tasks} existing tasks; empty if there are none yet
+     */
+    private List<Long> existingTaskIds(String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                                URI.create(baseUrl + "?page=0&size=" + settings.tasks() + "&fields=id"))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("Warmup could not list tasks: HTTP " + response.statusCode());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode task : objectMapper.readTree(response.body()).path("content")) {
+            ids.add(task.get("id").asLong());
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(HttpRequest.newBuilder(request, (name, value) -> true)
+                            .timeout(Duration.ofSeconds(10))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            logger.debug("Warmup request {} {} failed: {}", request.method(), request.uri(), e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Whether the medians of the last {@code stableRounds} rounds agree within the tolerance
+     */
+    private boolean isStable(List<Double> medians) {
+        if (medians.size() < settings.stableRounds()) {
+            return false;
+        }
+        List<Double> recent = medians.subList(medians.size() - settings.stableRounds(), medians.size());
+        double min = Collections.min(recent);
+        double max = Collections.max(recent);
+        return min > 0 && (max - min) / min <= settings.tolerance();
+    }
+
+    private void registerMetrics() {
+        TimeGauge.builder("warmup.duration", this, TimeUnit.MILLISECONDS, runner -> runner.report.durationMillis())
+                .description("Time spent warming up before readiness")
+                .register(meterRegistry);
+        registerLatency("first", 0.5, Report::firstP50);
+        registerLatency("first", 0.99, Report::firstP99);
+        registerLatency("last", 0.5, Report::lastP50);
+        registerLatency("last", 0.99, Report::lastP99);
+    }
+
+    private void registerLatency(String round, double quantile, ToDoubleFunction<Report> value) {
+        TimeGauge.builder("warmup.latency", this, TimeUnit.MILLISECONDS, runner -> value.applyAsDouble(runner.report))
+                .description("Warmup request latency in the first and last round")
+                .tag("round", round)
+                .tag("quantile", Double.toString(quantile))
+                .register(meterRegistry);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
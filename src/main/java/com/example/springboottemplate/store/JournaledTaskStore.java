@@ -0,0 +1,503 @@
+package com.example.springboottemplate.store;
+
+import com.example.springboottemplate.exception.BadRequestException;
+import com.example.springboottemplate.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link TaskStore} persisted through a {@link TaskJournal} and periodic snapshots.
+ * <p>Tasks are spread over a power-of-two number of stripes by ID; each stripe is a {@link LongObjectMap} guarded by
+ * its own {@link StampedLock}, so readers and writers of different stripes never meet. A write encodes its record,
+ * appends it to the journal and applies it under the stripe's write lock, which keeps journal order and memory
+ * order the same per task, then waits for the group fsync outside the lock.
+ * <p>A snapshot rotates the journal to a new segment, writes every task to {@code tasks-<segment>.snapshot} while
+ * writes continue, forces and renames it into place and deletes older segments and snapshots. Records that reach both
+ * the snapshot and the new segment are full task states, so replaying them again is harmless. Recovery loads the
+ * newest snapshot, replays the segments from its number on up to the first torn or corrupt frame of each, truncates
+ * that tail and starts a fresh segment.
+ */
+public class JournaledTaskStore implements TaskStore, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(JournaledTaskStore.class);
+
+    private static final String SNAPSHOT_PREFIX = "tasks-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Sortable properties; anything else is rejected
+     */
+    private static final Map<String, Comparator<Task>> SORT_ORDERS = Map.of(
+            "id", Comparator.comparing(Task::getId),
+            "title", Comparator.comparing(Task::getTitle, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "description", Comparator.comparing(Task::getDescription, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "completed", Comparator.comparing(Task::getCompleted, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "dueAt", Comparator.comparing(Task::getDueAt, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "createdAt", Comparator.comparing(Task::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "updatedAt", Comparator.comparing(Task::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final LongObjectMap<Task> tasks = new LongObjectMap<>(1024);
+    }
+
+    private final Path directory;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Object snapshotLock = new Object();
+    private final AtomicLong snapshots = new AtomicLong();
+    private final TaskJournal journal;
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-store-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Segment number of the newest snapshot, -1 without one; guarded by snapshotLock
+     */
+    private long snapshotGeneration = -1;
+
+    /**
+     * Open (or create) the store and recover its tasks
+     *
+     * @param directory Directory of the journal segments and snapshots
+     * @param stripes Lock stripes, rounded up to a power of two
+     * @param fsync Force journal groups to disk before writes return
+     * @param snapshotIntervalMillis Time between snapshots; 0 disables them
+     */
+    public JournaledTaskStore(Path directory, int stripes, boolean fsync, long snapshotIntervalMillis) {
+        this.directory = directory;
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+
+        long start = System.nanoTime();
+        long generation;
+        try {
+            Files.createDirectories(directory);
+            generation = recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to recover task store in " + directory, e);
+        }
+        this.journal = new TaskJournal(directory, generation, fsync);
+        logger.info("Recovered {} tasks from {} in {} ms, journal segment {}",
+                size(), directory, (System.nanoTime() - start) / 1_000_000, generation);
+
+        if (snapshotIntervalMillis > 0) {
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMillis, snapshotIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Task get(long id) {
+        Stripe stripe = stripe(id);
+        long stamp = stripe.lock.readLock();
+        try {
+            return stripe.tasks.get(id);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sorts in memory; only the first {@code offset + size} tasks in order are kept while scanning
+     */
+    @Override
+    public Page<Task> findPage(Pageable pageable) {
+        Comparator<Task> order = comparator(pageable.getSort());
+        List<Task> tasks = new ArrayList<>(size());
+        forEach(tasks::add);
+        int total = tasks.size();
+        if (pageable.isUnpaged()) {
+            tasks.sort(order);
+            return new PageImpl<>(tasks, pageable, total);
+        }
+        long offset = pageable.getOffset();
+        if (offset >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        int limit = (int) Math.min(total, offset + pageable.getPageSize());
+        List<Task> first = limit == total ? tasks : firstInOrder(tasks, limit, order);
+        first.sort(order);
+        return new PageImpl<>(first.subList((int) offset, limit), pageable, total);
+    }
+
+    @Override
+    public Task insert(Task task) {
+        long id = nextId.getAndIncrement();
+        LocalDateTime now = LocalDateTime.now();
+        Task stored = task.toBuilder()
+                .id(id)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+        byte[] record = TaskRecords.put(stored);
+        Stripe stripe = stripe(id);
+        long sequence;
+        long stamp = stripe.lock.writeLock();
+        try {
+            sequence = journal.append(record);
+            stripe.tasks.put(id, stored);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.awaitDurable(sequence);
+        return stored;
+    }
+
+    @Override
+    public Task update(long id, UnaryOperator<Task> update) {
+        Stripe stripe = stripe(id);
+        Task updated;
+        long sequence;
+        long stamp = stripe.lock.writeLock();
+        try {
+            Task current = stripe.tasks.get(id);
+            if (current == null) {
+                return null;
+            }
+            updated = update.apply(current).toBuilder()
+                    .id(id)
+                    .updatedAt(LocalDateTime.now())
+                    .version(current.getVersion() == null ? 1 : current.getVersion() + 1)
+                    .build();
+            sequence = journal.append(TaskRecords.put(updated));
+            stripe.tasks.put(id, updated);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.awaitDurable(sequence);
+        return updated;
+    }
+
+    @Override
+    public boolean delete(long id) {
+        Stripe stripe = stripe(id);
+        long sequence;
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.tasks.get(id) == null) {
+                return false;
+            }
+            sequence = journal.append(TaskRecords.delete(id));
+            stripe.tasks.remove(id);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+        journal.awaitDurable(sequence);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.tasks.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Holds one stripe's read lock at a time, so the action must not write to the store
+     */
+    @Override
+    public void forEach(Consumer<Task> action) {
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                stripe.tasks.forEach(action);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Write a snapshot and drop the journal segments it covers; skipped if nothing was written since the last one
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            if (journal.segmentRecords() == 0 && journal.generation() == snapshotGeneration) {
+                return;
+            }
+            long start = System.nanoTime();
+            long generation = journal.rotate();
+            Path file = snapshotFile(generation);
+            Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+            long tasks = 0;
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                     OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+                    for (Stripe stripe : stripes) {
+                        // Copy the stripe so its lock is not held during I/O
+                        List<Task> copy = new ArrayList<>();
+                        long stamp = stripe.lock.readLock();
+                        try {
+                            stripe.tasks.forEach(copy::add);
+                        } finally {
+                            stripe.lock.unlockRead(stamp);
+                        }
+                        for (Task task : copy) {
+                            writeFrame(out, TaskRecords.put(task));
+                        }
+                        tasks += copy.size();
+                    }
+                    // Read after the tasks, so it is above every ID in the snapshot
+                    writeFrame(out, TaskRecords.end(nextId.get()));
+                    out.flush();
+                    channel.force(true);
+                }
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory();
+                snapshotGeneration = generation;
+                deleteBefore(generation);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write task snapshot " + file, e);
+            }
+            snapshots.incrementAndGet();
+            logger.info("Wrote task snapshot {} with {} tasks in {} ms",
+                    file.getFileName(), tasks, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public long snapshots() {
+        return snapshots.get();
+    }
+
+    /**
+     * Journal write groups; {@link #journalRecords()} divided by this is the average group commit size
+     */
+    public long journalSyncs() {
+        return journal.syncs();
+    }
+
+    public long journalRecords() {
+        return journal.records();
+    }
+
+    /**
+     * Size of the current journal segment
+     */
+    public long journalBytes() {
+        return journal.segmentBytes();
+    }
+
+    /**
+     * Stop snapshotting and flush the journal; later writes fail
+     */
+    @Override
+    public void close() {
+        snapshotter.shutdownNow();
+        try {
+            snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    /**
+     * @return Number of the journal segment to start
+     */
+    private long recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.toList();
+        }
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                Files.delete(file);
+            }
+        }
+
+        long snapshot = files.stream().mapToLong(JournaledTaskStore::snapshotGenerationOf).max().orElse(-1);
+        if (snapshot >= 0) {
+            loadSnapshot(snapshotFile(snapshot));
+            snapshotGeneration = snapshot;
+        }
+        long[] segments = files.stream()
+                .mapToLong(TaskJournal::generationOf)
+                .filter(generation -> generation >= 0 && generation >= snapshot)
+                .sorted()
+                .toArray();
+        for (long segment : segments) {
+            Path file = TaskJournal.file(directory, segment);
+            long valid = TaskJournal.replay(file, this::apply);
+            long size = Files.size(file);
+            if (valid < size) {
+                logger.warn("Journal segment {} has a torn or corrupt tail, truncating {} of {} bytes",
+                        file.getFileName(), size - valid, size);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+        }
+        long last = segments.length > 0 ? segments[segments.length - 1] : -1;
+        return Math.max(last, snapshot) + 1;
+    }
+
+    private void loadSnapshot(Path file) throws IOException {
+        boolean[] complete = new boolean[1];
+        try (InputStream in = Files.newInputStream(file)) {
+            TaskJournal.readFrames(in, payload -> {
+                TaskRecords.Record record = TaskRecords.decode(payload);
+                if (record.op() == TaskRecords.END) {
+                    nextId.accumulateAndGet(record.id(), Math::max);
+                    complete[0] = true;
+                } else {
+                    apply(payload);
+                }
+            });
+        }
+        if (!complete[0]) {
+            // Snapshots are renamed into place only once forced, so this is damage rather than a crash
+            throw new IllegalStateException("Task snapshot " + file + " is incomplete or corrupt");
+        }
+    }
+
+    /**
+     * Apply a journal or snapshot record during recovery
+     */
+    private void apply(byte[] payload) {
+        TaskRecords.Record record = TaskRecords.decode(payload);
+        if (record.op() == TaskRecords.PUT) {
+            stripe(record.id()).tasks.put(record.id(), record.task());
+        } else if (record.op() == TaskRecords.DELETE) {
+            stripe(record.id()).tasks.remove(record.id());
+        }
+        nextId.accumulateAndGet(record.id() + 1, Math::max);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            logger.error("Task snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void deleteBefore(long generation) throws IOException {
+        try (Stream<Path> list = Files.list(directory)) {
+            for (Path file : list.toList()) {
+                long segment = TaskJournal.generationOf(file);
+                long snapshot = snapshotGenerationOf(file);
+                if ((segment >= 0 && segment < generation) || (snapshot >= 0 && snapshot < generation)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Make the rename durable; not supported on every platform, where it is left to the file system
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("Directory sync of {} not supported: {}", directory, e.getMessage());
+        }
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[(int) (id ^ (id >>> 32)) & stripeMask];
+    }
+
+    private Path snapshotFile(long generation) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    private static long snapshotGenerationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SNAPSHOT_PREFIX) || !name.endsWith(SNAPSHOT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void writeFrame(OutputStream out, byte[] payload) throws IOException {
+        ByteBuffer frame = TaskJournal.frame(payload);
+        out.write(frame.array(), 0, frame.limit());
+    }
+
+    /**
+     * The {@code limit} smallest tasks in order, unsorted, keeping a bounded max-heap instead of sorting everything
+     */
+    private static List<Task> firstInOrder(List<Task> tasks, int limit, Comparator<Task> order) {
+        PriorityQueue<Task> heap = new PriorityQueue<>(limit, order.reversed());
+        for (Task task : tasks) {
+            if (heap.size() < limit) {
+                heap.add(task);
+            } else if (order.compare(task, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(task);
+            }
+        }
+        return new ArrayList<>(heap);
+    }
+
+    private static Comparator<Task> comparator(Sort sort) {
+        Comparator<Task> order = null;
+        for (Sort.Order property : sort) {
+            Comparator<Task> comparator = SORT_ORDERS.get(property.getProperty());
+            if (comparator == null) {
+                throw new BadRequestException("Cannot sort tasks by '" + property.getProperty() + "'");
+            }
+            comparator = property.isAscending() ? comparator : comparator.reversed();
+            order = order == null ? comparator : order.thenComparing(comparator);
+        }
+        // ID last, so pages of equal sort keys do not overlap
+        Comparator<Task> byId = SORT_ORDERS.get("id");
+        return order == null ? byId : order.thenComparing(byId);
+    }
+}
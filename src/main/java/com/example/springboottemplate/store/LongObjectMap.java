@@ -0,0 +1,142 @@
+package com.example.springboottemplate.store;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to non-null values.
+ * Keys live unboxed in a {@code long[]} next to a parallel value array, probed linearly from a multiplicative hash,
+ * so a lookup touches two arrays and allocates nothing. Removal shifts the following entries back instead of leaving
+ * tombstones, so probe sequences stay short under churn.
+ * <p>
+ * Not thread-safe.
+ */
+final class LongObjectMap<V> {
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int resizeAt;
+    private int size;
+
+    LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    /**
+     * @return The previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        Objects.requireNonNull(value, "value");
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            Object current = values[i];
+            if (current == null) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > resizeAt) {
+                    resize(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[i] == key) {
+                values[i] = value;
+                return (V) current;
+            }
+        }
+    }
+
+    /**
+     * @return The removed value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            Object current = values[i];
+            if (current == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return (V) current;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Close the gap at {@code gap} by moving back every following entry of the run whose home slot allows it
+     */
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            int home = index(keys[i]);
+            // The entry may move into the gap only if the gap lies between its home slot and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private int index(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            Object value = oldValues[j];
+            if (value != null) {
+                int i = index(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.springboottemplate.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of task records with group commit, split into numbered segment files.
+ * <p>Frame layout: {@code length:int | checksum:int | payload}, the checksum a CRC32C of the payload.
+ * {@link #append} only copies the frame into a buffer and returns its sequence number; a single flusher thread
+ * writes whatever accumulated with one {@link FileChannel#write} and one {@link FileChannel#force}, so while one
+ * fsync is in flight the records of all concurrent writers pile up for the next. Writers then wait in
+ * {@link #awaitDurable}. A failed write or fsync fails the journal: every waiting and later writer gets an
+ * {@link UncheckedIOException}, since later records could otherwise become durable ahead of lost ones.
+ */
+final class TaskJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TaskJournal.class);
+
+    static final int FRAME_HEADER_SIZE = 8;
+    /**
+     * Upper bound of a valid payload; a larger length is a torn or corrupt frame
+     */
+    static final int MAX_PAYLOAD_SIZE = 1 << 20;
+
+    private static final String FILE_PREFIX = "tasks-";
+    private static final String FILE_SUFFIX = ".journal";
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Thread flusher;
+
+    // Guarded by lock
+    private ByteBuffer pending = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private long appendedSequence;
+    private long durableSequence;
+    private long generation;
+    private long segmentRecords;
+    private boolean rotationRequested;
+    private boolean closing;
+    private IOException failure;
+
+    // Only used by the flusher thread after construction
+    private FileChannel channel;
+
+    private volatile long segmentBytes;
+    private volatile long syncs;
+    private volatile long records;
+
+    /**
+     * Start a new segment
+     *
+     * @param directory Directory of the segment files
+     * @param generation Number of the new segment; must not exist yet
+     * @param fsync Force every group to disk; if false, writers only wait for the write to the OS page cache
+     */
+    TaskJournal(Path directory, long generation, boolean fsync) {
+        this.directory = directory;
+        this.generation = generation;
+        this.fsync = fsync;
+        try {
+            this.channel = openSegment(generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create journal segment " + file(directory, generation), e);
+        }
+        this.flusher = new Thread(this::flushLoop, "task-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queue a record
+     *
+     * @return Sequence number to pass to {@link #awaitDurable}
+     * @throws UncheckedIOException If the journal failed or is closed
+     */
+    long append(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        lock.lock();
+        try {
+            checkWritable();
+            if (pending.remaining() < FRAME_HEADER_SIZE + payload.length) {
+                pending = grow(pending, FRAME_HEADER_SIZE + payload.length);
+            }
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            segmentRecords++;
+            if (pending.position() == FRAME_HEADER_SIZE + payload.length) {
+                work.signal();
+            }
+            return ++appendedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until the record with the given sequence number and all before it are written (and forced, with fsync)
+     *
+     * @throws UncheckedIOException If the journal failed before that
+     */
+    void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Task journal failed", failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close the current segment after the records appended so far and continue in the next one
+     *
+     * @return Number of the new segment; records in it happened after every record of the previous ones
+     */
+    long rotate() {
+        lock.lock();
+        try {
+            checkWritable();
+            long target = generation + 1;
+            rotationRequested = true;
+            work.signal();
+            while (generation < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Task journal failed", failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records appended to the current segment
+     */
+    long segmentRecords() {
+        lock.lock();
+        try {
+            return segmentRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of the current segment
+     */
+    long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long segmentBytes() {
+        return segmentBytes;
+    }
+
+    /**
+     * Write groups forced to disk, or just written without fsync
+     */
+    long syncs() {
+        return syncs;
+    }
+
+    /**
+     * Records written; divided by {@link #syncs()} the average group size
+     */
+    long records() {
+        return records;
+    }
+
+    /**
+     * Flush what is pending and close the segment; later appends fail
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closing = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long target;
+            long batchRecords;
+            boolean rotate;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !rotationRequested && !closing && failure == null) {
+                    work.awaitUninterruptibly();
+                }
+                if (failure != null || (pending.position() == 0 && !rotationRequested)) {
+                    break;
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                target = appendedSequence;
+                batchRecords = target - durableSequence;
+                rotate = rotationRequested;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            FileChannel next = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    segmentBytes += channel.write(batch);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+                if (rotate) {
+                    next = openSegment(generation() + 1);
+                }
+            } catch (IOException e) {
+                error = e;
+                logger.error("Task journal write to {} failed, rejecting further writes: {}",
+                        file(directory, generation()), e.getMessage(), e);
+            }
+            batch.clear();
+            if (error == null) {
+                records += batchRecords;
+                syncs++;
+            }
+
+            lock.lock();
+            try {
+                spare = batch;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSequence = target;
+                    if (rotate) {
+                        closeQuietly(channel);
+                        channel = next;
+                        segmentBytes = 0;
+                        segmentRecords = appendedSequence - target;
+                        generation++;
+                        rotationRequested = false;
+                    }
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        closeQuietly(channel);
+    }
+
+    private FileChannel openSegment(long segment) throws IOException {
+        return FileChannel.open(file(directory, segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Task journal failed", failure);
+        }
+        if (closing) {
+            throw new UncheckedIOException(new IOException("Task journal is closed"));
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < needed) {
+            capacity <<= 1;
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Closing journal segment failed: {}", e.getMessage());
+        }
+    }
+
+    static Path file(Path directory, long generation) {
+        return directory.resolve(String.format("%s%020d%s", FILE_PREFIX, generation, FILE_SUFFIX));
+    }
+
+    /**
+     * @return Segment number of a journal file name, or -1 for other files
+     */
+    static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Read the frames of a segment up to the first torn or corrupt one
+     *
+     * @param payloads Receives each valid payload in order
+     * @return Length of the valid prefix of the file
+     */
+    static long replay(Path file, Consumer<byte[]> payloads) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return readFrames(stream, payloads);
+        }
+    }
+
+    /**
+     * Read frames from a stream up to its end or the first torn or corrupt frame
+     *
+     * @return Bytes of valid frames read
+     */
+    static long readFrames(InputStream stream, Consumer<byte[]> payloads) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        long valid = 0;
+        CRC32C crc = new CRC32C();
+        while (true) {
+            int length;
+            int checksum;
+            byte[] payload;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length <= 0 || length > MAX_PAYLOAD_SIZE) {
+                    return valid;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                return valid;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                return valid;
+            }
+            payloads.accept(payload);
+            valid += FRAME_HEADER_SIZE + length;
+        }
+    }
+
+    /**
+     * Encode one frame, for files written outside the journal such as snapshots
+     */
+    static ByteBuffer frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(FRAME_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+    }
+}
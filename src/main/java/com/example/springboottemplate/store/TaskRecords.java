@@ -0,0 +1,154 @@
+package com.example.springboottemplate.store;
+
+import com.example.springboottemplate.model.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of journal and snapshot records.
+ * <p>Layout: {@code op:byte | id:long}, and for {@link #PUT} a presence bitmask of the nullable fields followed by
+ * {@code title, completed} and the present fields in bit order. Strings are modified UTF-8 ({@code writeUTF}),
+ * timestamps are UTC epoch seconds plus nanoseconds. A put always carries the whole task, so replaying a record
+ * twice is harmless.
+ */
+final class TaskRecords {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    /**
+     * Last record of a snapshot; its id field carries the next task ID
+     */
+    static final byte END = 3;
+
+    private static final int DESCRIPTION = 1;
+    private static final int DUE_AT = 1 << 1;
+    private static final int EXTERNAL_ID = 1 << 2;
+    private static final int CONTENT_HASH = 1 << 3;
+    private static final int CREATED_AT = 1 << 4;
+    private static final int UPDATED_AT = 1 << 5;
+    private static final int VERSION = 1 << 6;
+
+    /**
+     * A decoded record; {@code task} is set for puts only
+     */
+    record Record(byte op, long id, Task task) {
+    }
+
+    private TaskRecords() {
+    }
+
+    static byte[] put(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PUT);
+            out.writeLong(task.getId());
+            int present = (task.getDescription() != null ? DESCRIPTION : 0)
+                    | (task.getDueAt() != null ? DUE_AT : 0)
+                    | (task.getExternalId() != null ? EXTERNAL_ID : 0)
+                    | (task.getContentHash() != null ? CONTENT_HASH : 0)
+                    | (task.getCreatedAt() != null ? CREATED_AT : 0)
+                    | (task.getUpdatedAt() != null ? UPDATED_AT : 0)
+                    | (task.getVersion() != null ? VERSION : 0);
+            out.writeByte(present);
+            out.writeUTF(task.getTitle());
+            out.writeBoolean(Boolean.TRUE.equals(task.getCompleted()));
+            if (task.getDescription() != null) {
+                out.writeUTF(task.getDescription());
+            }
+            if (task.getDueAt() != null) {
+                writeDateTime(out, task.getDueAt());
+            }
+            if (task.getExternalId() != null) {
+                out.writeLong(task.getExternalId());
+            }
+            if (task.getContentHash() != null) {
+                out.writeLong(task.getContentHash());
+            }
+            if (task.getCreatedAt() != null) {
+                writeDateTime(out, task.getCreatedAt());
+            }
+            if (task.getUpdatedAt() != null) {
+                writeDateTime(out, task.getUpdatedAt());
+            }
+            if (task.getVersion() != null) {
+                out.writeLong(task.getVersion());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] delete(long id) {
+        return idRecord(DELETE, id);
+    }
+
+    static byte[] end(long nextId) {
+        return idRecord(END, nextId);
+    }
+
+    static Record decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte op = in.readByte();
+            long id = in.readLong();
+            if (op != PUT) {
+                return new Record(op, id, null);
+            }
+            int present = in.readUnsignedByte();
+            Task.TaskBuilder task = Task.builder()
+                    .id(id)
+                    .title(in.readUTF())
+                    .completed(in.readBoolean());
+            if ((present & DESCRIPTION) != 0) {
+                task.description(in.readUTF());
+            }
+            if ((present & DUE_AT) != 0) {
+                task.dueAt(readDateTime(in));
+            }
+            if ((present & EXTERNAL_ID) != 0) {
+                task.externalId(in.readLong());
+            }
+            if ((present & CONTENT_HASH) != 0) {
+                task.contentHash(in.readLong());
+            }
+            if ((present & CREATED_AT) != 0) {
+                task.createdAt(readDateTime(in));
+            }
+            if ((present & UPDATED_AT) != 0) {
+                task.updatedAt(readDateTime(in));
+            }
+            if ((present & VERSION) != 0) {
+                task.version(in.readLong());
+            }
+            return new Record(op, id, task.build());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed task record", e);
+        }
+    }
+
+    private static byte[] idRecord(byte op, long id) {
+        byte[] record = new byte[9];
+        record[0] = op;
+        for (int i = 0; i < 8; i++) {
+            record[1 + i] = (byte) (id >>> (56 - 8 * i));
+        }
+        return record;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+}
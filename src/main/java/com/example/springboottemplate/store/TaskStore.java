@@ -0,0 +1,57 @@
+package com.example.springboottemplate.store;
+
+import com.example.springboottemplate.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage engine for tasks behind the {@code memstore} task service.
+ * Returned tasks are shared snapshots and must not be modified; changes go through {@link #update}.
+ * A write has returned only once it is durable.
+ */
+public interface TaskStore {
+
+    /**
+     * @return The task, or null if it does not exist
+     */
+    Task get(long id);
+
+    /**
+     * Find one page of tasks
+     *
+     * @param pageable Page, size and sort; sort properties must be {@link Task} fields
+     * @return Tasks of the page, in sort order
+     */
+    Page<Task> findPage(Pageable pageable);
+
+    /**
+     * Store a new task
+     *
+     * @param task Task without ID
+     * @return The stored task with its generated ID and timestamps
+     */
+    Task insert(Task task);
+
+    /**
+     * Replace a task atomically with respect to other writes of it
+     *
+     * @param update Receives the current task and returns its replacement, a new instance with the same ID
+     * @return The stored replacement, or null if the task does not exist
+     */
+    Task update(long id, UnaryOperator<Task> update);
+
+    /**
+     * @return false if the task did not exist
+     */
+    boolean delete(long id);
+
+    int size();
+
+    /**
+     * Visit every task; tasks written concurrently may or may not be visited
+     */
+    void forEach(Consumer<Task> action);
+}
@@ -0,0 +1,166 @@
+package com.example.springboottemplate.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup-time benchmark: launches the fast-startup jar in fresh JVMs under each mode (plain, CDS, AOT,
+ * AOT with CDS, and additionally lazy springdoc) and measures the time until the application logs that it started.
+ * Runs are interleaved round-robin across modes so drift on the machine affects every mode alike.
+ * <p>
+ * Settings are system properties ({@code startup.*}), see "Fast Startup" in the README.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * One launch: wall time from process start to the startup log line, and the times Spring Boot reports
+     */
+    record Sample(double wallMillis, double startedSeconds, double processSeconds) {
+    }
+
+    /**
+     * Results of one mode, times in milliseconds
+     */
+    public record ModeSummary(List<String> jvmArguments, int runs, double wallMedian, double wallMin, double wallMax,
+                              double startedMedian, double processMedian) {
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        Path archive = Path.of(System.getProperty("startup.archive"));
+        int runs = Integer.getInteger("startup.runs", 10);
+        int warmupRuns = Integer.getInteger("startup.warmupRuns", 2);
+        long timeoutSeconds = Long.getLong("startup.timeout", 120L);
+        List<String> modes = Arrays.stream(System.getProperty("startup.modes", "jar,cds,aot,aot-cds,aot-cds-lazy").split(","))
+                .map(String::trim)
+                .filter(mode -> !mode.isEmpty())
+                .toList();
+        Path output = Path.of(System.getProperty("startup.result", "target/fast-startup/startup-result.json"));
+
+        Map<String, List<String>> jvmArguments = new LinkedHashMap<>();
+        for (String mode : modes) {
+            jvmArguments.put(mode, jvmArguments(mode, archive));
+        }
+        if (jvmArguments.values().stream().anyMatch(arguments -> arguments.stream().anyMatch(a -> a.startsWith("-XX:SharedArchiveFile")))
+                && !Files.exists(archive)) {
+            throw new IllegalStateException("CDS archive " + archive + " not found; run the fast-startup profile's training run first");
+        }
+
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "startup-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        modes.forEach(mode -> samples.put(mode, new ArrayList<>()));
+        for (int run = -warmupRuns; run < runs; run++) {
+            for (String mode : modes) {
+                Sample sample = launch(jar, jvmArguments.get(mode), watchdog, timeoutSeconds);
+                if (run >= 0) {
+                    samples.get(mode).add(sample);
+                }
+                System.out.printf(Locale.ROOT, "%s run %d: %.0f ms%s%n", mode, run + 1, sample.wallMillis(),
+                        run < 0 ? " (warmup)" : "");
+            }
+        }
+        watchdog.shutdownNow();
+
+        Map<String, ModeSummary> summaries = new LinkedHashMap<>();
+        samples.forEach((mode, modeSamples) -> summaries.put(mode, summarize(jvmArguments.get(mode), modeSamples)));
+        System.out.print(format(summaries));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        MAPPER.writeValue(output.toFile(), summaries);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static List<String> jvmArguments(String mode, Path archive) {
+        List<String> arguments = new ArrayList<>();
+        for (String feature : mode.split("-")) {
+            switch (feature) {
+                case "jar" -> {
+                }
+                case "cds" -> arguments.add("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+                case "aot" -> arguments.add("-Dspring.aot.enabled=true");
+                case "lazy" -> arguments.add("-Dstartup.lazy.enabled=true");
+                default -> throw new IllegalArgumentException("Unknown startup mode '" + mode
+                        + "', combine jar, cds, aot and lazy with '-'");
+            }
+        }
+        return arguments;
+    }
+
+    private static Sample launch(Path jar, List<String> jvmArguments, ScheduledExecutorService watchdog,
+                                 long timeoutSeconds) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.addAll(List.of("-jar", jar.toAbsolutePath().toString(),
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.com.example=INFO"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        // A hung application is killed, which ends the output below
+        watchdog.schedule(process::destroyForcibly, timeoutSeconds, TimeUnit.SECONDS);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    double wallMillis = (System.nanoTime() - start) / 1_000_000.0;
+                    return new Sample(wallMillis, Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)));
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        throw new IllegalStateException("Application did not report startup: " + String.join(" ", command));
+    }
+
+    private static ModeSummary summarize(List<String> jvmArguments, List<Sample> samples) {
+        double[] wall = samples.stream().mapToDouble(Sample::wallMillis).sorted().toArray();
+        double[] started = samples.stream().mapToDouble(sample -> sample.startedSeconds() * 1000).sorted().toArray();
+        double[] process = samples.stream().mapToDouble(sample -> sample.processSeconds() * 1000).sorted().toArray();
+        return new ModeSummary(jvmArguments, samples.size(), median(wall), wall[0], wall[wall.length - 1],
+                median(started), median(process));
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static String format(Map<String, ModeSummary> summaries) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-16s %5s %12s %10s %10s %14s %14s%n",
+                "mode", "runs", "wall p50 ms", "min ms", "max ms", "context p50 ms", "process p50 ms"));
+        summaries.forEach((mode, s) -> table.append(String.format(Locale.ROOT, "%-16s %5d %12.0f %10.0f %10.0f %14.0f %14.0f%n",
+                mode, s.runs(), s.wallMedian(), s.wallMin(), s.wallMax(), s.startedMedian(), s.processMedian())));
+        return table.toString();
+    }
+}
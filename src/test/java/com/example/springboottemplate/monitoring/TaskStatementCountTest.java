@@ -0,0 +1,75 @@
+package com.example.springboottemplate.monitoring;
+
+import com.example.springboottemplate.model.Task;
+import com.example.springboottemplate.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements per request of the tasks API, so an N+1 or a stray query fails the build instead of a load test.
+ * MockMvc runs the request on the test thread, where {@link StatementCounter#capture} counts it.
+ */
+@SpringBootTest(properties = "sql.statements.enabled=true")
+@AutoConfigureMockMvc
+class TaskStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void getTaskByIdIssuesOneSelect() {
+        Long id = saveTask();
+
+        StatementCounter.capture(() -> perform(get("/tasks/{id}", id), status().isOk()))
+                .assertCount(StatementType.SELECT, 1)
+                .assertTotalAtMost(1);
+    }
+
+    @Test
+    void createTaskIssuesOneInsert() {
+        StatementCounter.capture(() -> perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Counted task\",\"completed\":false}"), status().isCreated()))
+                .assertCount(StatementType.INSERT, 1)
+                .assertTotalAtMost(1);
+    }
+
+    @Test
+    void deleteTaskIssuesOneSelectAndOneDelete() {
+        Long id = saveTask();
+
+        StatementCounter.capture(() -> perform(delete("/tasks/{id}", id), status().isNoContent()))
+                .assertCount(StatementType.SELECT, 1)
+                .assertCount(StatementType.DELETE, 1)
+                .assertTotalAtMost(2);
+    }
+
+    private Long saveTask() {
+        return taskRepository.save(Task.builder()
+                .title("Counted task")
+                .completed(false)
+                .build()).getId();
+    }
+
+    private void perform(RequestBuilder request, ResultMatcher expectedStatus) {
+        try {
+            mockMvc.perform(request).andExpect(expectedStatus);
+        } catch (Exception e) {
+            throw new IllegalStateException("Request failed", e);
+        }
+    }
+}